@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.firefly.core.sca.core.throttling.SCAAttemptLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of SCAAttemptLimiter admission under contention: a hot admitted operation,
+ * a locked operation and an exhausted bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AttemptLimiterBenchmark {
+
+    private SCAAttemptLimiter generous;
+    private SCAAttemptLimiter strict;
+    private final UUID admitted = UUID.randomUUID();
+    private final UUID locked = UUID.randomUUID();
+    private final UUID throttled = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        SCAAttemptLimitProperties open = new SCAAttemptLimitProperties();
+        open.setEnabled(true);
+        open.setOperation(new SCAAttemptLimitProperties.Bucket(Integer.MAX_VALUE, Duration.ofNanos(1)));
+        generous = new SCAAttemptLimiter(open, new SimpleMeterRegistry());
+
+        SCAAttemptLimitProperties closed = new SCAAttemptLimitProperties();
+        closed.setEnabled(true);
+        closed.setOperation(new SCAAttemptLimitProperties.Bucket(1, Duration.ofHours(1)));
+        strict = new SCAAttemptLimiter(closed, new SimpleMeterRegistry());
+        strict.record(locked, "party-42", true);
+        strict.tryAcquire(throttled);
+    }
+
+    @Benchmark
+    public SCAAttemptLimiter.Decision admitted() {
+        return generous.tryAcquire(admitted);
+    }
+
+    @Benchmark
+    public SCAAttemptLimiter.Decision rejectedLocked() {
+        return strict.tryAcquire(locked);
+    }
+
+    @Benchmark
+    public SCAAttemptLimiter.Decision rejectedThrottled() {
+        return strict.tryAcquire(throttled);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeHasher;
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of storing and verifying HMAC challenge digests, against the former plaintext equals.
+ * Run with -prof gc to confirm that verification does not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ChallengeHashingBenchmark {
+
+    private SCAChallengeCodeHasher hasher;
+    private UUID operationId;
+    private String digest;
+    private String plaintext;
+
+    @Setup
+    public void setUp() {
+        SCAChallengeProperties properties = new SCAChallengeProperties();
+        properties.getHashing().setKey(Base64.getEncoder().encodeToString(new byte[32]));
+        hasher = new SCAChallengeCodeHasher(properties);
+        operationId = UUID.randomUUID();
+        digest = hasher.hash(operationId, Fixtures.CODE);
+        plaintext = new String(Fixtures.CODE.toCharArray());
+    }
+
+    @Benchmark
+    public boolean plaintextEquals() {
+        return plaintext.equals(Fixtures.CODE);
+    }
+
+    @Benchmark
+    public boolean verifyDigest() {
+        return hasher.matches(operationId, Fixtures.CODE, digest);
+    }
+
+    @Benchmark
+    public boolean verifyWrongCode() {
+        return hasher.matches(operationId, "000000", digest);
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash(operationId, Fixtures.CODE);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.services.SCAChallengeService;
+import com.firefly.core.sca.core.throttling.SCAAttemptLimiter;
+import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.models.entities.SCAChallenge;
+import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decision paths of SCAChallengeServiceImpl#validateChallenge against in-memory repositories.
+ * LOCKED and THROTTLED are rejected by the attempt limiter before any repository call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChallengeValidationBenchmark {
+
+    public enum Scenario {
+        VALID,
+        WRONG_CODE,
+        ALREADY_USED,
+        EXPIRED,
+        LOCKED,
+        THROTTLED
+    }
+
+    @Param
+    public Scenario scenario;
+
+    private AnnotationConfigApplicationContext context;
+    private SCAChallengeService service;
+    private UUID operationId;
+    private SCAChallenge challenge;
+    private String userCode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SCAAttemptLimitProperties attemptLimit = new SCAAttemptLimitProperties();
+        attemptLimit.setEnabled(scenario == Scenario.LOCKED || scenario == Scenario.THROTTLED);
+        attemptLimit.setOperation(new SCAAttemptLimitProperties.Bucket(1, Duration.ofHours(1)));
+        context = ServiceContexts.services(new SCAExecutionProperties(), attemptLimit);
+        service = context.getBean(SCAChallengeService.class);
+
+        operationId = UUID.randomUUID();
+        userCode = scenario == Scenario.WRONG_CODE ? "000000" : Fixtures.CODE;
+        SCAAttemptLimiter limiter = context.getBean(SCAAttemptLimiter.class);
+        if (scenario == Scenario.LOCKED) {
+            limiter.record(operationId, "party-42", true);
+        } else if (scenario == Scenario.THROTTLED) {
+            limiter.tryAcquire(operationId); // uses up the single token
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        ServiceContexts.clearRepositories(context);
+        challenge = Fixtures.challenge(operationId);
+        challenge.setUsed(scenario == Scenario.ALREADY_USED);
+        if (scenario == Scenario.EXPIRED) {
+            challenge.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        }
+        context.getBean(SCAChallengeRepository.class).save(challenge).block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ValidationResultDTO validateChallenge() {
+        if (scenario == Scenario.VALID) {
+            challenge.setUsed(false); // consumed by the previous invocation
+        }
+        return service.validateChallenge(operationId, challenge.getId(), userCode).block();
+    }
+}
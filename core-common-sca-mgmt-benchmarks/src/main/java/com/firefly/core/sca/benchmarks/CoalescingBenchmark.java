@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.benchmarks.support.InMemoryRepository;
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.config.SCASingleFlightProperties;
+import com.firefly.core.sca.core.services.SCAOperationService;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Every hardware thread reading one of a few operations through SCAOperationServiceImpl#findById,
+ * with each repository read blocking for a simulated database round trip. window is the
+ * single-flight window, "off" disables the layer and PT0S shares in-flight reads only. The reads
+ * and loads counters give the fan-in ratio: reads answered per repository read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CoalescingBenchmark {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    /**
+     * The reading thread's counters; repository reads run on the thread that subscribed.
+     */
+    private static final ThreadLocal<Outcomes> OUTCOMES = new ThreadLocal<>();
+
+    @Param({"1", "64"})
+    public int operations;
+
+    @Param({"off", "PT0S", "PT0.05S"})
+    public String window;
+
+    private AnnotationConfigApplicationContext context;
+    private SCAOperationService service;
+    private UUID[] operationIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long reads;
+        public long loads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reads = 0;
+            loads = 0;
+            OUTCOMES.set(this);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.services(new SCAExecutionProperties());
+        SCASingleFlightProperties singleFlight = context.getBean(SCASingleFlightProperties.class);
+        singleFlight.setEnabled(!"off".equals(window));
+        if (singleFlight.isEnabled()) {
+            singleFlight.setWindow(Duration.parse(window));
+        }
+        service = context.getBean(SCAOperationService.class);
+        operationIds = new UUID[operations];
+        for (int i = 0; i < operations; i++) {
+            operationIds[i] = service.create(Fixtures.operationDTO()).block().getId();
+        }
+        InMemoryRepository<?, ?> rows = context.getBean("operationRows", InMemoryRepository.class);
+        rows.with("findById", args -> Mono.fromSupplier(() -> {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            Outcomes outcomes = OUTCOMES.get();
+            if (outcomes != null) {
+                outcomes.loads++;
+            }
+            return rows.rows().get((UUID) args[0]);
+        }));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SCAOperationDTO findById(Outcomes outcomes) {
+        outcomes.reads++;
+        return service.findById(operationIds[ThreadLocalRandom.current().nextInt(operationIds.length)]).block();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeGenerator;
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Challenge code generation with every hardware thread generating at once: the striped
+ * SCAChallengeCodeGenerator against one shared SecureRandom drawing a digit per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CodeGenerationBenchmark {
+
+    private SCAChallengeCodeGenerator generator;
+    private SecureRandom shared;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        generator = new SCAChallengeCodeGenerator(new SCAChallengeProperties());
+        shared = SecureRandom.getInstance("DRBG");
+    }
+
+    @Benchmark
+    public String sharedSecureRandom() {
+        char[] code = new char[6];
+        for (int i = 0; i < code.length; i++) {
+            code[i] = (char) ('0' + shared.nextInt(10));
+        }
+        return new String(code);
+    }
+
+    @Benchmark
+    public String stripedGenerator() {
+        return generator.generate(SCAOperationTypeEnum.TRANSFER);
+    }
+}
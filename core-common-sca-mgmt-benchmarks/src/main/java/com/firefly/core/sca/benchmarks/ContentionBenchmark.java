@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.concurrency.SCAConflictException;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.services.SCAOperationService;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every hardware thread updating one of a few operations through SCAOperationServiceImpl, so each
+ * operation has threads / operations concurrent writers. Blind updates carry no version and the
+ * last writer wins; versioned updates read the operation first and send its version back, so a
+ * writer that lost the race gets an SCAConflictException instead of overwriting. The updated and
+ * conflicts counters split the score into successful writes and rejected ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ContentionBenchmark {
+
+    @Param({"1", "8", "1024"})
+    public int operations;
+
+    @Param({"false", "true"})
+    public boolean versioned;
+
+    private AnnotationConfigApplicationContext context;
+    private SCAOperationService service;
+    private UUID[] operationIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long updated;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            updated = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.services(new SCAExecutionProperties());
+        service = context.getBean(SCAOperationService.class);
+        operationIds = new UUID[operations];
+        for (int i = 0; i < operations; i++) {
+            operationIds[i] = service.create(Fixtures.operationDTO()).block().getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SCAOperationDTO update(Outcomes outcomes) {
+        UUID operationId = operationIds[ThreadLocalRandom.current().nextInt(operationIds.length)];
+        SCAOperationDTO dto = versioned ? service.findById(operationId).block() : Fixtures.operationDTO();
+        dto.setPartyId("party-" + Thread.currentThread().threadId());
+        try {
+            SCAOperationDTO updated = service.update(operationId, dto).block();
+            outcomes.updated++;
+            return updated;
+        } catch (SCAConflictException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+}
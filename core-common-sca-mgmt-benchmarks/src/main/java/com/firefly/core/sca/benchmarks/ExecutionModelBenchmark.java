@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.services.SCAOperationService;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create → trigger → validate through SCAOperationServiceImpl in each execution mode.
+ * Repositories are in memory, so the scores isolate the cost of the scheduler hops.
+ * Throughput gives operations per microsecond, SampleTime the p50/p99 latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ExecutionModelBenchmark {
+
+    @Param({"EVENT_LOOP", "BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    public SCAExecutionProperties.Mode mode;
+
+    private AnnotationConfigApplicationContext context;
+    private SCAOperationService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SCAExecutionProperties execution = new SCAExecutionProperties();
+        execution.setMode(mode);
+        context = ServiceContexts.services(execution);
+        service = context.getBean(SCAOperationService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        ServiceContexts.clearRepositories(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ValidationResultDTO createTriggerValidate() {
+        return service.create(newOperation())
+                .flatMap(operation -> service.triggerSCA(operation.getId())
+                        .then(service.validateSCA(operation.getId(), "123456")))
+                .block();
+    }
+
+    private static SCAOperationDTO newOperation() {
+        SCAOperationDTO dto = new SCAOperationDTO();
+        dto.setReferenceId("bench");
+        dto.setOperationType(SCAOperationTypeEnum.TRANSFER);
+        dto.setPartyId("party");
+        dto.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.services.SCAAuditService;
+import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import org.fireflyframework.core.queries.PaginationRequest;
+import org.fireflyframework.core.queries.PaginationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round-trips of the DTOs the API returns, with an ObjectMapper configured the way
+ * Spring Boot configures the WebFlux codecs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<PaginationResponse<SCAAuditDTO>> AUDIT_PAGE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private SCAOperationDTO operation;
+    private SCAAuditDTO audit;
+    private PaginationResponse<SCAAuditDTO> auditPage;
+    private String operationJson;
+    private String auditJson;
+    private String auditPageJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        operation = Fixtures.operationDTO();
+        audit = Fixtures.auditDTO(operation.getId());
+        auditPage = auditPage(operation.getId());
+        operationJson = objectMapper.writeValueAsString(operation);
+        auditJson = objectMapper.writeValueAsString(audit);
+        auditPageJson = objectMapper.writeValueAsString(auditPage);
+    }
+
+    @Benchmark
+    public String writeOperation() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(operation);
+    }
+
+    @Benchmark
+    public SCAOperationDTO readOperation() throws JsonProcessingException {
+        return objectMapper.readValue(operationJson, SCAOperationDTO.class);
+    }
+
+    @Benchmark
+    public String writeAudit() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(audit);
+    }
+
+    @Benchmark
+    public SCAAuditDTO readAudit() throws JsonProcessingException {
+        return objectMapper.readValue(auditJson, SCAAuditDTO.class);
+    }
+
+    @Benchmark
+    public String writeAuditPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(auditPage);
+    }
+
+    @Benchmark
+    public PaginationResponse<SCAAuditDTO> readAuditPage() throws JsonProcessingException {
+        return objectMapper.readValue(auditPageJson, AUDIT_PAGE);
+    }
+
+    /**
+     * A page of 20 audit records, built by the audit service itself so it has the production shape.
+     */
+    private static PaginationResponse<SCAAuditDTO> auditPage(UUID operationId) {
+        try (AnnotationConfigApplicationContext context = ServiceContexts.services(new SCAExecutionProperties())) {
+            SCAAuditService auditService = context.getBean(SCAAuditService.class);
+            for (int i = 0; i < 20; i++) {
+                auditService.create(operationId, Fixtures.auditDTO(operationId)).block();
+            }
+            return auditService.findAllByOperationId(operationId, new PaginationRequest()).block();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.core.mappers.SCAAttemptMapper;
+import com.firefly.core.sca.core.mappers.SCAAttemptMapperImpl;
+import com.firefly.core.sca.core.mappers.SCAAuditMapper;
+import com.firefly.core.sca.core.mappers.SCAAuditMapperImpl;
+import com.firefly.core.sca.core.mappers.SCAChallengeMapper;
+import com.firefly.core.sca.core.mappers.SCAChallengeMapperImpl;
+import com.firefly.core.sca.core.mappers.SCAOperationHistoryMapper;
+import com.firefly.core.sca.core.mappers.SCAOperationHistoryMapperImpl;
+import com.firefly.core.sca.core.mappers.SCAOperationMapper;
+import com.firefly.core.sca.core.mappers.SCAOperationMapperImpl;
+import com.firefly.core.sca.interfaces.dtos.SCAAttemptDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationHistoryDTO;
+import com.firefly.core.sca.models.entities.SCAAttempt;
+import com.firefly.core.sca.models.entities.SCAAudit;
+import com.firefly.core.sca.models.entities.SCAChallenge;
+import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.entities.SCAOperationHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversions of the generated MapStruct mappers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final SCAOperationMapper operationMapper = new SCAOperationMapperImpl();
+    private final SCAChallengeMapper challengeMapper = new SCAChallengeMapperImpl();
+    private final SCAAttemptMapper attemptMapper = new SCAAttemptMapperImpl();
+    private final SCAAuditMapper auditMapper = new SCAAuditMapperImpl();
+    private final SCAOperationHistoryMapper historyMapper = new SCAOperationHistoryMapperImpl();
+
+    private SCAOperation operation;
+    private SCAOperationDTO operationDTO;
+    private SCAChallenge challenge;
+    private SCAChallengeDTO challengeDTO;
+    private SCAAttempt attempt;
+    private SCAAttemptDTO attemptDTO;
+    private SCAAudit audit;
+    private SCAAuditDTO auditDTO;
+    private SCAOperationHistory history;
+    private SCAOperationHistoryDTO historyDTO;
+
+    @Setup
+    public void setUp() {
+        UUID operationId = UUID.randomUUID();
+        operation = Fixtures.operation();
+        operationDTO = operationMapper.toDTO(operation);
+        challenge = Fixtures.challenge(operationId);
+        challengeDTO = challengeMapper.toDTO(challenge);
+        attempt = Fixtures.attempt(challenge.getId());
+        attemptDTO = attemptMapper.toDTO(attempt);
+        audit = Fixtures.audit(operationId);
+        auditDTO = auditMapper.toDTO(audit);
+        history = Fixtures.history(operationId);
+        historyDTO = historyMapper.toDTO(history);
+    }
+
+    @Benchmark
+    public SCAOperationDTO operationToDTO() {
+        return operationMapper.toDTO(operation);
+    }
+
+    @Benchmark
+    public SCAOperation operationToEntity() {
+        return operationMapper.toEntity(operationDTO);
+    }
+
+    @Benchmark
+    public SCAChallengeDTO challengeToDTO() {
+        return challengeMapper.toDTO(challenge);
+    }
+
+    @Benchmark
+    public SCAChallenge challengeToEntity() {
+        return challengeMapper.toEntity(challengeDTO);
+    }
+
+    @Benchmark
+    public SCAAttemptDTO attemptToDTO() {
+        return attemptMapper.toDTO(attempt);
+    }
+
+    @Benchmark
+    public SCAAttempt attemptToEntity() {
+        return attemptMapper.toEntity(attemptDTO);
+    }
+
+    @Benchmark
+    public SCAAuditDTO auditToDTO() {
+        return auditMapper.toDTO(audit);
+    }
+
+    @Benchmark
+    public SCAAudit auditToEntity() {
+        return auditMapper.toEntity(auditDTO);
+    }
+
+    @Benchmark
+    public SCAOperationHistoryDTO historyToDTO() {
+        return historyMapper.toDTO(history);
+    }
+
+    @Benchmark
+    public SCAOperationHistory historyToEntity() {
+        return historyMapper.toEntity(historyDTO);
+    }
+}
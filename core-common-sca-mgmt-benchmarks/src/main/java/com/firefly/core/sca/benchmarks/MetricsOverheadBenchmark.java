@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.services.SCAOperationService;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service and repository timers on the validate path. Compare instrumented=true
+ * with instrumented=false; the outcome counters are active in both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private AnnotationConfigApplicationContext context;
+    private SCAOperationService service;
+    private UUID operationId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.services(new SCAExecutionProperties(), new SCAAttemptLimitProperties(), instrumented);
+        service = context.getBean(SCAOperationService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        ServiceContexts.clearRepositories(context);
+        SCAOperation operation = context.getBean(SCAOperationRepository.class).save(Fixtures.operation()).block();
+        operationId = operation.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ValidationResultDTO validateSCA() {
+        return service.validateSCA(operationId, Fixtures.CODE).block();
+    }
+
+    @Benchmark
+    public SCAOperationDTO findById() {
+        return service.findById(operationId).block();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks;
+
+import com.firefly.core.sca.benchmarks.support.Fixtures;
+import com.firefly.core.sca.benchmarks.support.ServiceContexts;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.config.SCASingleFlightProperties;
+import com.firefly.core.sca.core.services.SCAAuditService;
+import com.firefly.core.sca.core.services.SCAChallengeService;
+import com.firefly.core.sca.core.services.SCAOperationService;
+import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import org.fireflyframework.core.queries.PaginationRequest;
+import org.fireflyframework.core.queries.PaginationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the reactive service pipelines (mapping, filtering, error handling) on top of
+ * in-memory repositories. repositoryFindById is the baseline without any service code. Reads are
+ * not coalesced here, see CoalescingBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServicePipelineBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private SCAOperationRepository operationRepository;
+    private SCAOperationService operationService;
+    private SCAChallengeService challengeService;
+    private SCAAuditService auditService;
+    private UUID operationId;
+    private PaginationRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.services(new SCAExecutionProperties());
+        context.getBean(SCASingleFlightProperties.class).setEnabled(false);
+        operationRepository = context.getBean(SCAOperationRepository.class);
+        operationService = context.getBean(SCAOperationService.class);
+        challengeService = context.getBean(SCAChallengeService.class);
+        auditService = context.getBean(SCAAuditService.class);
+        pageRequest = new PaginationRequest();
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        ServiceContexts.clearRepositories(context);
+        SCAOperation operation = operationRepository.save(Fixtures.operation()).block();
+        operationId = operation.getId();
+        context.getBean(SCAChallengeRepository.class).save(Fixtures.challenge(operationId)).block();
+        for (int i = 0; i < 20; i++) {
+            auditService.create(operationId, Fixtures.auditDTO(operationId)).block();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SCAOperation repositoryFindById() {
+        return operationRepository.findById(operationId).block();
+    }
+
+    @Benchmark
+    public SCAOperationDTO operationFindById() {
+        return operationService.findById(operationId).block();
+    }
+
+    @Benchmark
+    public SCAChallengeDTO activeChallengeLookup() {
+        return challengeService.findActiveChallengeForOperation(operationId).block();
+    }
+
+    @Benchmark
+    public SCAAuditDTO auditCreate() {
+        UUID otherOperation = UUID.randomUUID();
+        return auditService.create(otherOperation, Fixtures.auditDTO(otherOperation)).block();
+    }
+
+    @Benchmark
+    public PaginationResponse<SCAAuditDTO> auditPage() {
+        return auditService.findAllByOperationId(operationId, pageRequest).block();
+    }
+}
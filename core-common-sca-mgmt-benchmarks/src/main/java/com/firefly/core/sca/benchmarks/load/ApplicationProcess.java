@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged StrongCustomerAuthenticationApplication, run as a child JVM against the local database.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private final Process process;
+    private final String baseUrl;
+
+    private ApplicationProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static ApplicationProcess start(Path jar, LocalDatabase database, Path log) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Application jar not found: " + jar + " (run mvn package first)");
+        }
+        int port = freePort();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-jar", jar.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        Map<String, String> environment = builder.environment();
+        environment.put("DB_HOST", database.host());
+        environment.put("DB_PORT", String.valueOf(database.port()));
+        environment.put("DB_NAME", database.name());
+        environment.put("DB_USERNAME", database.user());
+        environment.put("DB_PASSWORD", database.password());
+        environment.put("DB_SSL_MODE", "disable");
+        environment.put("SERVER_ADDRESS", "127.0.0.1");
+        environment.put("SERVER_PORT", String.valueOf(port));
+        environment.put("SCA_SPOOL_DIR", log.toAbsolutePath().resolveSibling("sca-spool").toString());
+        environment.put("SCA_CHALLENGE_HMAC_KEY", hmacKey());
+        return new ApplicationProcess(builder.start(), "http://127.0.0.1:" + port);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Polls the readiness probe until the application accepts traffic.
+     */
+    void awaitReady(WebClient client, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+            Boolean ready = client.get().uri("/actuator/health/readiness")
+                    .exchangeToMono(response -> Mono.just(response.statusCode().is2xxSuccessful()))
+                    .onErrorReturn(false)
+                    .block(Duration.ofSeconds(2));
+            if (Boolean.TRUE.equals(ready)) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application not ready after " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A fresh challenge code key per run; the application refuses to start without one.
+     */
+    private static String hmacKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
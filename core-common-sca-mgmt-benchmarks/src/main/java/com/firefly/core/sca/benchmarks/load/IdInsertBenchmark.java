@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.firefly.core.sca.models.utils.UUIDv7Generator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bulk-insert throughput of random UUIDv4 keys against time-ordered UUIDv7 keys, on a table
+ * shaped like sca_attempt (primary key plus the (challenge, time, id) listing index).
+ * <p>
+ * Each strategy fills its own table with multi-row inserts of the size the attempt pipeline
+ * uses, on the same embedded or external PostgreSQL as the load harness. The report has the
+ * throughput of every segment of rows, so the drop as the index outgrows the buffer cache is
+ * visible, plus the WAL written and the final index sizes. Writes results/id-insert-&lt;label&gt;.json.
+ * <pre>
+ * java -cp core-common-sca-mgmt-benchmarks/target/benchmarks.jar \
+ *     com.firefly.core.sca.benchmarks.load.IdInsertBenchmark --rows=20000000 --label=1.4.0
+ * </pre>
+ */
+public final class IdInsertBenchmark {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE %1$s (
+                id               UUID         PRIMARY KEY,
+                sca_challenge_id UUID         NOT NULL,
+                attempt_value    VARCHAR(255) NOT NULL,
+                attempted_at     TIMESTAMP    NOT NULL,
+                success          BOOLEAN      NOT NULL
+            )
+            """;
+    private static final String CREATE_INDEX =
+            "CREATE INDEX %1$s_challenge ON %1$s (sca_challenge_id, attempted_at, id)";
+    private static final String INSERT = """
+            INSERT INTO %s (id, sca_challenge_id, attempt_value, attempted_at, success)
+            SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::varchar[], ?::timestamp[], ?::boolean[])
+            """;
+
+    private enum Strategy {
+        RANDOM("id_insert_random", UUID::randomUUID),
+        UUID_V7("id_insert_v7", UUIDv7Generator::next);
+
+        private final String table;
+        private final Supplier<UUID> ids;
+
+        Strategy(String table, Supplier<UUID> ids) {
+            this.table = table;
+            this.ids = ids;
+        }
+    }
+
+    private IdInsertBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Map<String, String> options = options(args);
+        long rows = Long.parseLong(options.getOrDefault("rows", "20000000"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "500"));
+        long segmentRows = Long.parseLong(options.getOrDefault("segment-rows", "1000000"));
+        Files.createDirectories(config.results());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("startedAt", Instant.now().toString());
+        report.put("database", config.database());
+        report.put("config", Map.of("rows", rows, "batchSize", batchSize, "segmentRows", segmentRows));
+        report.put("environment", Map.of(
+                "java", System.getProperty("java.version"),
+                "os", System.getProperty("os.name") + " " + System.getProperty("os.arch"),
+                "cpus", Runtime.getRuntime().availableProcessors()));
+
+        Map<String, Object> strategies = new LinkedHashMap<>();
+        try (LocalDatabase database = LocalDatabase.start(config);
+             Connection connection = DriverManager.getConnection(
+                     "jdbc:postgresql://" + database.host() + ":" + database.port() + "/" + database.name(),
+                     database.user(), database.password())) {
+            for (Strategy strategy : Strategy.values()) {
+                strategies.put(strategy.name(), run(connection, strategy, rows, batchSize, segmentRows));
+            }
+        }
+        report.put("strategies", strategies);
+
+        Path output = config.results().resolve("id-insert-" + config.label() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Insert benchmark report written to " + output);
+    }
+
+    private static Map<String, Object> run(Connection connection, Strategy strategy, long rows, int batchSize,
+                                           long segmentRows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + strategy.table);
+            statement.execute(CREATE_TABLE.formatted(strategy.table));
+            statement.execute(CREATE_INDEX.formatted(strategy.table));
+            checkpoint(statement);
+        }
+        String walStart = walPosition(connection);
+
+        List<Double> segments = new ArrayList<>();
+        long start = System.nanoTime();
+        long segmentStart = start;
+        long inserted = 0;
+        long segmentInserted = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT.formatted(strategy.table))) {
+            UUID[] ids = new UUID[batchSize];
+            UUID[] challengeIds = new UUID[batchSize];
+            String[] values = new String[batchSize];
+            Timestamp[] times = new Timestamp[batchSize];
+            Boolean[] successes = new Boolean[batchSize];
+            UUID challengeId = strategy.ids.get();
+            while (inserted < rows) {
+                int size = (int) Math.min(batchSize, rows - inserted);
+                if (size != ids.length) {
+                    ids = new UUID[size];
+                    challengeIds = new UUID[size];
+                    values = new String[size];
+                    times = new Timestamp[size];
+                    successes = new Boolean[size];
+                }
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (int i = 0; i < size; i++) {
+                    if ((inserted + i) % 3 == 0) {
+                        challengeId = strategy.ids.get(); // about three attempts per challenge
+                    }
+                    ids[i] = strategy.ids.get();
+                    challengeIds[i] = challengeId;
+                    values[i] = "h1:" + Long.toHexString(inserted + i);
+                    times[i] = now;
+                    successes[i] = (inserted + i) % 3 == 2;
+                }
+                insert.setArray(1, connection.createArrayOf("uuid", ids));
+                insert.setArray(2, connection.createArrayOf("uuid", challengeIds));
+                insert.setArray(3, connection.createArrayOf("varchar", values));
+                insert.setArray(4, connection.createArrayOf("timestamp", times));
+                insert.setArray(5, connection.createArrayOf("bool", successes));
+                insert.executeUpdate();
+
+                inserted += size;
+                segmentInserted += size;
+                if (segmentInserted >= segmentRows || inserted == rows) {
+                    long segmentEnd = System.nanoTime();
+                    segments.add(segmentInserted / ((segmentEnd - segmentStart) / 1e9));
+                    segmentStart = segmentEnd;
+                    segmentInserted = 0;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", inserted);
+        result.put("seconds", elapsed / 1e9);
+        result.put("rowsPerSecond", inserted / (elapsed / 1e9));
+        result.put("segmentRowsPerSecond", segments);
+        result.put("walBytes", walBytesSince(connection, walStart));
+        result.put("tableBytes", relationSize(connection, strategy.table));
+        result.put("primaryKeyBytes", relationSize(connection, strategy.table + "_pkey"));
+        result.put("challengeIndexBytes", relationSize(connection, strategy.table + "_challenge"));
+        System.out.printf("%s: %d rows in %.1fs, %.0f rows/s%n", strategy, inserted,
+                elapsed / 1e9, inserted / (elapsed / 1e9));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + strategy.table);
+        }
+        return result;
+    }
+
+    /**
+     * Starts each strategy from clean shared buffers and WAL; needs a superuser, as the embedded
+     * database has. Skipped with a note otherwise.
+     */
+    private static void checkpoint(Statement statement) {
+        try {
+            statement.execute("CHECKPOINT");
+        } catch (SQLException e) {
+            System.out.println("CHECKPOINT not permitted, strategies share dirty buffers: " + e.getMessage());
+        }
+    }
+
+    private static String walPosition(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static long walBytesSince(Connection connection, String start) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)::bigint")) {
+            statement.setString(1, start);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private static long relationSize(Connection connection, String relation) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_relation_size(?::regclass)")) {
+            statement.setString(1, relation);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
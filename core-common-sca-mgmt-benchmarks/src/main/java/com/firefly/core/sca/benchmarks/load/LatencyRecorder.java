@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms, in microseconds.
+ * <p>
+ * "corrected" latencies are measured from when a request should have been sent according to the
+ * arrival schedule, so a stalled server is charged for the requests that queued behind it
+ * (coordinated omission). "service" latencies are measured from when the request was actually sent.
+ */
+final class LatencyRecorder {
+
+    static final String FLOW = "flow";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long intendedNanos, long sentNanos, long completedNanos) {
+        Endpoint stats = endpoint(endpoint);
+        stats.corrected.recordValue(toMicros(completedNanos - intendedNanos));
+        stats.service.recordValue(toMicros(completedNanos - sentNanos));
+    }
+
+    void error(String endpoint) {
+        endpoint(endpoint).errors.increment();
+    }
+
+    /**
+     * Summary per endpoint: request and error counts plus latency percentiles in milliseconds.
+     */
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        endpoints.keySet().stream().sorted().forEach(name -> {
+            Endpoint stats = endpoints.get(name);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", stats.corrected.getTotalCount());
+            entry.put("errors", stats.errors.sum());
+            entry.put("corrected", percentiles(stats.corrected));
+            entry.put("service", percentiles(stats.service));
+            summary.put(name, entry);
+        });
+        return summary;
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", millis(histogram.getValueAtPercentile(50)));
+        percentiles.put("p90", millis(histogram.getValueAtPercentile(90)));
+        percentiles.put("p99", millis(histogram.getValueAtPercentile(99)));
+        percentiles.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        percentiles.put("max", millis(histogram.getMaxValue()));
+        percentiles.put("mean", histogram.getMean() / 1000.0);
+        return percentiles;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram service = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
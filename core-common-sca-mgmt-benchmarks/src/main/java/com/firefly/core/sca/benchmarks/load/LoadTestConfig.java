@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, parsed from --key=value arguments.
+ *
+ * @param target           base URL of a running instance; when blank the application jar is started
+ * @param applicationJar   packaged application started when no target is given
+ * @param database         "embedded" for an in-process PostgreSQL, or a jdbc:postgresql:// URL
+ * @param databaseUser     user of an external database
+ * @param databasePassword password of an external database
+ * @param rate             flows started per second, independent of response times
+ * @param warmup           time before latencies are recorded
+ * @param duration         measured time after the warmup
+ * @param wrongCodeRatio   share of flows that validate with a wrong code
+ * @param abandonRatio     share of flows that stop after the trigger and never validate
+ * @param updateRatio      share of flows that update the operation before creating the challenge
+ * @param seed             seed of the flow mix, so two runs issue the same sequence
+ * @param maxInFlight      flows in progress beyond which new flows are shed and counted
+ * @param label            name of the run, e.g. the release or commit
+ * @param results          directory of the JSON report and application log
+ */
+public record LoadTestConfig(String target,
+                             Path applicationJar,
+                             String database,
+                             String databaseUser,
+                             String databasePassword,
+                             double rate,
+                             Duration warmup,
+                             Duration duration,
+                             double wrongCodeRatio,
+                             double abandonRatio,
+                             double updateRatio,
+                             long seed,
+                             int maxInFlight,
+                             String label,
+                             Path results) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(
+                options.getOrDefault("target", ""),
+                Path.of(options.getOrDefault("app-jar", "core-common-sca-mgmt-web/target/core-common-sca-mgmt.jar")),
+                options.getOrDefault("database", "embedded"),
+                options.getOrDefault("database-user", "postgres"),
+                options.getOrDefault("database-password", "postgres"),
+                Double.parseDouble(options.getOrDefault("rate", "50")),
+                Duration.parse(options.getOrDefault("warmup", "PT10S")),
+                Duration.parse(options.getOrDefault("duration", "PT60S")),
+                Double.parseDouble(options.getOrDefault("wrong-code-ratio", "0.1")),
+                Double.parseDouble(options.getOrDefault("abandon-ratio", "0.05")),
+                Double.parseDouble(options.getOrDefault("update-ratio", "0")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+                options.getOrDefault("label", "local"),
+                Path.of(options.getOrDefault("results", "results")));
+    }
+
+    public boolean startsApplication() {
+        return target.isBlank();
+    }
+}
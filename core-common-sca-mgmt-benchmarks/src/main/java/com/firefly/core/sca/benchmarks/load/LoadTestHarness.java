@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the SCA flow.
+ * <p>
+ * Starts flows at a fixed arrival rate regardless of how fast the service answers, against a
+ * running instance (--target) or the packaged application started on a local or embedded
+ * PostgreSQL. Writes results/load-&lt;label&gt;.json with per-endpoint latency percentiles.
+ * <pre>
+ * java -cp core-common-sca-mgmt-benchmarks/target/benchmarks.jar \
+ *     com.firefly.core.sca.benchmarks.load.LoadTestHarness --rate=200 --duration=PT2M --label=1.4.0
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Files.createDirectories(config.results());
+
+        if (!config.startsApplication()) {
+            run(config, config.target());
+            return;
+        }
+        try (LocalDatabase database = LocalDatabase.start(config);
+             ApplicationProcess application = ApplicationProcess.start(config.applicationJar(), database,
+                     config.results().resolve("load-" + config.label() + ".app.log"))) {
+            application.awaitReady(WebClient.create(application.baseUrl()), STARTUP_TIMEOUT);
+            run(config, application.baseUrl());
+        }
+    }
+
+    private static void run(LoadTestConfig config, String baseUrl) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ScaFlowDriver driver = new ScaFlowDriver(WebClient.create(baseUrl), recorder);
+        SplittableRandom random = new SplittableRandom(config.seed());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        LongAdder shed = new LongAdder();
+        long scheduled = 0;
+
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        Instant startedAt = Instant.now();
+
+        for (long sequence = 0; ; sequence++) {
+            long intended = start + sequence * periodNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // decisions are drawn for every flow, shed or not, so the mix does not depend on timing
+            boolean wrongCode = random.nextDouble() < config.wrongCodeRatio();
+            boolean abandon = random.nextDouble() < config.abandonRatio();
+            // only drawn when enabled, so runs without updates keep the mix of earlier reports
+            boolean update = config.updateRatio() > 0 && random.nextDouble() < config.updateRatio();
+            boolean measured = intended >= measureFrom;
+            if (measured) {
+                scheduled++;
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    shed.increment();
+                }
+                continue;
+            }
+            driver.run(sequence, intended, wrongCode, abandon, update, measured)
+                    .doFinally(signal -> inFlight.release())
+                    .subscribe();
+        }
+        boolean drained = inFlight.tryAcquire(config.maxInFlight(), DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("startedAt", startedAt.toString());
+        report.put("target", baseUrl);
+        report.put("database", config.startsApplication() ? config.database() : "external");
+        report.put("config", Map.of(
+                "rate", config.rate(),
+                "warmup", config.warmup().toString(),
+                "duration", config.duration().toString(),
+                "wrongCodeRatio", config.wrongCodeRatio(),
+                "abandonRatio", config.abandonRatio(),
+                "updateRatio", config.updateRatio(),
+                "seed", config.seed(),
+                "maxInFlight", config.maxInFlight()));
+        report.put("environment", Map.of(
+                "java", System.getProperty("java.version"),
+                "os", System.getProperty("os.name") + " " + System.getProperty("os.arch"),
+                "cpus", Runtime.getRuntime().availableProcessors()));
+        report.put("flows", Map.of(
+                "scheduled", scheduled,
+                "shed", shed.sum(),
+                "drained", drained,
+                "startedRate", (scheduled - shed.sum()) / (config.duration().toNanos() / 1e9)));
+        report.put("endpoints", recorder.summary());
+
+        Path output = config.results().resolve("load-" + config.label() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Load test report written to " + output);
+    }
+}
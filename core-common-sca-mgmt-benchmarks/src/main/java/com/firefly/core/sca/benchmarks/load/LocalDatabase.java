@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * The PostgreSQL instance the application under test connects to: an in-process embedded
+ * server, or an external database given by its JDBC URL.
+ */
+final class LocalDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String host;
+    private final int port;
+    private final String name;
+    private final String user;
+    private final String password;
+
+    private LocalDatabase(EmbeddedPostgres embedded, String host, int port, String name, String user, String password) {
+        this.embedded = embedded;
+        this.host = host;
+        this.port = port;
+        this.name = name;
+        this.user = user;
+        this.password = password;
+    }
+
+    static LocalDatabase start(LoadTestConfig config) throws IOException {
+        if ("embedded".equals(config.database())) {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            return new LocalDatabase(postgres, "localhost", postgres.getPort(), "postgres", "postgres", "postgres");
+        }
+        URI uri = URI.create(config.database().substring("jdbc:".length()));
+        return new LocalDatabase(null, uri.getHost(), uri.getPort(), uri.getPath().substring(1),
+                config.databaseUser(), config.databasePassword());
+    }
+
+    String host() {
+        return host;
+    }
+
+    int port() {
+        return port;
+    }
+
+    String name() {
+        return name;
+    }
+
+    String user() {
+        return user;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Drives one SCA flow over HTTP: create operation → (update operation) → create challenge → trigger → validate.
+ * <p>
+ * The first request is charged from the flow's scheduled start; each later request is sent as soon
+ * as the previous one completes, so its scheduled time is its send time.
+ */
+final class ScaFlowDriver {
+
+    static final String CODE = "482913";
+    static final String WRONG_CODE = "000000";
+
+    private static final long UNSCHEDULED = Long.MIN_VALUE;
+
+    private final WebClient client;
+    private final LatencyRecorder recorder;
+
+    ScaFlowDriver(WebClient client, LatencyRecorder recorder) {
+        this.client = client;
+        this.recorder = recorder;
+    }
+
+    Mono<Void> run(long sequence, long intendedNanos, boolean wrongCode, boolean abandon, boolean update,
+                   boolean measured) {
+        return Mono.defer(() -> {
+            long firstSent = System.nanoTime();
+            return call("create-operation", intendedNanos, measured,
+                    client.post().uri("/api/v1/sca/operations").bodyValue(operation(sequence)))
+                    .flatMap(operation -> {
+                        String operationId = operation.path("id").asText();
+                        Mono<JsonNode> updated = update
+                                ? call("update-operation", UNSCHEDULED, measured,
+                                        client.put().uri("/api/v1/sca/operations/{id}", operationId)
+                                                .bodyValue(operation(sequence)))
+                                : Mono.empty();
+                        Mono<JsonNode> flow = updated.then(call("create-challenge", UNSCHEDULED, measured,
+                                client.post().uri("/api/v1/sca/operations/{id}/challenges", operationId)
+                                        .bodyValue(challenge())))
+                                .then(call("trigger", UNSCHEDULED, measured,
+                                        client.post().uri("/api/v1/sca/operations/{id}/trigger", operationId)));
+                        if (abandon) {
+                            return flow;
+                        }
+                        return flow.then(call("validate", UNSCHEDULED, measured,
+                                client.post().uri(builder -> builder
+                                        .path("/api/v1/sca/operations/{id}/validate")
+                                        .queryParam("userCode", wrongCode ? WRONG_CODE : CODE)
+                                        .build(operationId))));
+                    })
+                    .doOnSuccess(last -> {
+                        if (measured) {
+                            recorder.record(LatencyRecorder.FLOW, intendedNanos, firstSent, System.nanoTime());
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (measured) {
+                            recorder.error(LatencyRecorder.FLOW);
+                        }
+                    })
+                    .onErrorResume(e -> Mono.empty())
+                    .then();
+        });
+    }
+
+    private Mono<JsonNode> call(String endpoint, long intendedNanos, boolean measured,
+                                WebClient.RequestHeadersSpec<?> request) {
+        return Mono.defer(() -> {
+            long sent = System.nanoTime();
+            long intended = intendedNanos == UNSCHEDULED ? sent : intendedNanos;
+            return request.retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .defaultIfEmpty(NullNode.getInstance())
+                    .doOnSuccess(body -> {
+                        if (measured) {
+                            recorder.record(endpoint, intended, sent, System.nanoTime());
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (measured) {
+                            recorder.error(endpoint);
+                        }
+                    });
+        });
+    }
+
+    private static Map<String, Object> operation(long sequence) {
+        return Map.of(
+                "referenceId", "LOAD-" + sequence,
+                "operationType", "TRANSFER",
+                "partyId", "party-" + (sequence % 1_000),
+                "status", "PENDING",
+                "expiresAt", LocalDateTime.now().plusMinutes(5).toString());
+    }
+
+    private static Map<String, Object> challenge() {
+        return Map.of(
+                "challengeCode", CODE,
+                "createdAt", LocalDateTime.now().toString(),
+                "expiresAt", LocalDateTime.now().plusMinutes(5).toString(),
+                "used", false);
+    }
+}
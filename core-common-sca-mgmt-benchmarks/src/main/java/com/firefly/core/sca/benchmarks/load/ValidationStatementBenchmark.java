@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
+import com.firefly.core.sca.models.projections.SCAValidationOutcome;
+import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import org.HdrHistogram.Histogram;
+import org.flywaydb.core.Flyway;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of SCAOperationRepository#validateAndConsumeChallenge against the five-statement flow it
+ * replaced (read operation, find active challenge, read challenge, save challenge, save operation),
+ * called one at a time on the same embedded or external PostgreSQL as the load harness. Every call
+ * consumes its own freshly seeded operation. Writes results/validation-statement-&lt;label&gt;.json.
+ * <pre>
+ * java -cp core-common-sca-mgmt-benchmarks/target/benchmarks.jar \
+ *     com.firefly.core.sca.benchmarks.load.ValidationStatementBenchmark --samples=2000 --label=1.4.0
+ * </pre>
+ */
+public final class ValidationStatementBenchmark {
+
+    private static final String CODE = "h1:" + "5a".repeat(32);
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    private ValidationStatementBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Map<String, String> options = options(args);
+        int samples = Integer.parseInt(options.getOrDefault("samples", "2000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup-samples", "500"));
+        Files.createDirectories(config.results());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("startedAt", Instant.now().toString());
+        report.put("database", config.database());
+        report.put("config", Map.of("samples", samples, "warmupSamples", warmup));
+        report.put("environment", Map.of(
+                "java", System.getProperty("java.version"),
+                "os", System.getProperty("os.name") + " " + System.getProperty("os.arch"),
+                "cpus", Runtime.getRuntime().availableProcessors()));
+
+        Map<String, Object> flows = new LinkedHashMap<>();
+        try (LocalDatabase database = LocalDatabase.start(config)) {
+            String url = "jdbc:postgresql://" + database.host() + ":" + database.port() + "/" + database.name();
+            Flyway.configure()
+                    .dataSource(url, database.user(), database.password())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new PostgresqlConnectionFactory(
+                            PostgresqlConnectionConfiguration.builder()
+                                    .host(database.host())
+                                    .port(database.port())
+                                    .database(database.name())
+                                    .username(database.user())
+                                    .password(database.password())
+                                    .build()))
+                    .maxSize(2)
+                    .build());
+            try (Connection connection = DriverManager.getConnection(url, database.user(), database.password())) {
+                R2dbcRepositoryFactory repositories = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(pool));
+                SCAOperationRepository operations = repositories.getRepository(SCAOperationRepository.class);
+                SCAChallengeRepository challenges = repositories.getRepository(SCAChallengeRepository.class);
+
+                UUID[] warmupIds = seedPendingOperations(connection, 2 * warmup);
+                UUID[] single = seedPendingOperations(connection, samples);
+                UUID[] multi = seedPendingOperations(connection, samples);
+                for (int i = 0; i < warmup; i++) {
+                    singleStatement(operations, warmupIds[i]).block();
+                    multiStatement(operations, challenges, warmupIds[warmup + i]).block();
+                }
+                Histogram singleLatency = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+                Histogram multiLatency = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+                for (int i = 0; i < samples; i++) {
+                    record(singleLatency, singleStatement(operations, single[i]));
+                    record(multiLatency, multiStatement(operations, challenges, multi[i]));
+                }
+                flows.put("fiveStatements", percentiles(multiLatency));
+                flows.put("validateAndConsumeChallenge", percentiles(singleLatency));
+            } finally {
+                pool.dispose();
+            }
+        }
+        report.put("flows", flows);
+
+        Path output = config.results().resolve("validation-statement-" + config.label() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Validation statement report written to " + output);
+    }
+
+    private static void record(Histogram histogram, Mono<Boolean> validation) {
+        long started = System.nanoTime();
+        if (!Boolean.TRUE.equals(validation.block())) {
+            throw new IllegalStateException("A seeded operation was not verified");
+        }
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started),
+                HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private static Mono<Boolean> singleStatement(SCAOperationRepository operations, UUID operationId) {
+        return operations.validateAndConsumeChallenge(operationId, CODE, null, MAX_ATTEMPTS)
+                .map(outcome -> outcome.getOutcome() == SCAValidationOutcome.Outcome.VERIFIED);
+    }
+
+    /**
+     * The validation flow as it was before the single statement, without the attempt bookkeeping.
+     */
+    private static Mono<Boolean> multiStatement(SCAOperationRepository operations, SCAChallengeRepository challenges,
+                                                UUID operationId) {
+        return operations.findById(operationId)
+                .filter(operation -> operation.getStatus() == SCAStatusEnum.PENDING)
+                .flatMap(operation -> challenges.findActiveChallengeForOperation(operationId)
+                        .flatMap(active -> challenges.findById(active.getId()))
+                        .filter(challenge -> CODE.equals(challenge.getChallengeCode()))
+                        .flatMap(challenge -> {
+                            challenge.setUsed(true);
+                            return challenges.save(challenge);
+                        })
+                        .flatMap(challenge -> {
+                            operation.setStatus(SCAStatusEnum.VERIFIED);
+                            operation.setLastUpdated(LocalDateTime.now());
+                            return operations.save(operation);
+                        }))
+                .hasElement();
+    }
+
+    private static UUID[] seedPendingOperations(Connection connection, int count) throws SQLException {
+        UUID[] ids = new UUID[count];
+        try (PreparedStatement operation = connection.prepareStatement("""
+                     INSERT INTO sca_operation (id, reference_id, operation_type, party_id, status,
+                                                created_at, expires_at, last_updated)
+                     VALUES (?, 'ref', 'TRANSFER', 'party', 'PENDING',
+                             now(), now() + INTERVAL '10 minutes', now())
+                     """);
+             PreparedStatement challenge = connection.prepareStatement("""
+                     INSERT INTO sca_challenge (id, sca_operation_id, challenge_code, created_at, expires_at, used)
+                     VALUES (?, ?, ?, now(), now() + INTERVAL '5 minutes', FALSE)
+                     """)) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = UUID.randomUUID();
+                operation.setObject(1, ids[i]);
+                operation.addBatch();
+                challenge.setObject(1, UUID.randomUUID());
+                challenge.setObject(2, ids[i]);
+                challenge.setString(3, CODE);
+                challenge.addBatch();
+            }
+            operation.executeBatch();
+            challenge.executeBatch();
+        }
+        return ids;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        percentiles.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        percentiles.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        percentiles.put("max", histogram.getMaxValue() / 1000.0);
+        return percentiles;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
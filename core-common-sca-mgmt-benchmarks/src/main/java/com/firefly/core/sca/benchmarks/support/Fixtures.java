@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.support;
+
+import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
+import com.firefly.core.sca.interfaces.enums.SCAEventTypeEnum;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
+import com.firefly.core.sca.models.entities.SCAAttempt;
+import com.firefly.core.sca.models.entities.SCAAudit;
+import com.firefly.core.sca.models.entities.SCAChallenge;
+import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.entities.SCAOperationHistory;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Representative, fully populated entities and DTOs for the benchmarks.
+ */
+public final class Fixtures {
+
+    public static final String CODE = "482913";
+
+    private Fixtures() {
+    }
+
+    public static SCAOperation operation() {
+        SCAOperation operation = new SCAOperation();
+        operation.setId(UUID.randomUUID());
+        operation.setReferenceId("TRX-2025-000123");
+        operation.setOperationType(SCAOperationTypeEnum.TRANSFER);
+        operation.setPartyId("party-42");
+        operation.setStatus(SCAStatusEnum.PENDING);
+        operation.setCreatedAt(LocalDateTime.now());
+        operation.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        operation.setLastUpdated(LocalDateTime.now());
+        operation.setFailedAttempts(0);
+        return operation;
+    }
+
+    public static SCAOperationDTO operationDTO() {
+        SCAOperationDTO dto = new SCAOperationDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setReferenceId("TRX-2025-000123");
+        dto.setOperationType(SCAOperationTypeEnum.TRANSFER);
+        dto.setPartyId("party-42");
+        dto.setStatus(SCAStatusEnum.PENDING);
+        dto.setCreatedAt(LocalDateTime.now());
+        dto.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        dto.setLastUpdated(LocalDateTime.now());
+        return dto;
+    }
+
+    public static SCAChallenge challenge(UUID operationId) {
+        SCAChallenge challenge = new SCAChallenge();
+        challenge.setId(UUID.randomUUID());
+        challenge.setScaOperationId(operationId);
+        challenge.setChallengeCode(CODE);
+        challenge.setCreatedAt(LocalDateTime.now());
+        challenge.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        challenge.setUsed(false);
+        return challenge;
+    }
+
+    public static SCAChallengeDTO challengeDTO(UUID operationId) {
+        SCAChallengeDTO dto = new SCAChallengeDTO();
+        dto.setScaOperationId(operationId);
+        dto.setChallengeCode(CODE);
+        dto.setCreatedAt(LocalDateTime.now());
+        dto.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        dto.setUsed(false);
+        return dto;
+    }
+
+    public static SCAAttempt attempt(UUID challengeId) {
+        SCAAttempt attempt = new SCAAttempt();
+        attempt.setId(UUID.randomUUID());
+        attempt.setScaChallengeId(challengeId);
+        attempt.setAttemptValue("sha256:9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        attempt.setAttemptedAt(LocalDateTime.now());
+        attempt.setSuccess(true);
+        attempt.setIpAddress("203.0.113.7");
+        return attempt;
+    }
+
+    public static SCAAudit audit(UUID operationId) {
+        SCAAudit audit = new SCAAudit();
+        audit.setId(UUID.randomUUID());
+        audit.setScaOperationId(operationId);
+        audit.setScaChallengeId(UUID.randomUUID());
+        audit.setPartyId("party-42");
+        audit.setEventType(SCAEventTypeEnum.ATTEMPTED);
+        audit.setEventTime(LocalDateTime.now());
+        audit.setDetails("{\"channel\":\"SMS\",\"result\":\"VERIFIED\"}");
+        return audit;
+    }
+
+    public static SCAAuditDTO auditDTO(UUID operationId) {
+        SCAAuditDTO dto = new SCAAuditDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setScaOperationId(operationId);
+        dto.setScaChallengeId(UUID.randomUUID());
+        dto.setPartyId("party-42");
+        dto.setEventType(SCAEventTypeEnum.ATTEMPTED);
+        dto.setEventTime(LocalDateTime.now());
+        dto.setDetails("{\"channel\":\"SMS\",\"result\":\"VERIFIED\"}");
+        return dto;
+    }
+
+    public static SCAOperationHistory history(UUID operationId) {
+        SCAOperationHistory history = new SCAOperationHistory();
+        history.setId(UUID.randomUUID());
+        history.setScaOperationId(operationId);
+        history.setStatus(SCAStatusEnum.VERIFIED);
+        history.setEventTime(LocalDateTime.now());
+        history.setComments("Challenge successfully validated");
+        return history;
+    }
+}
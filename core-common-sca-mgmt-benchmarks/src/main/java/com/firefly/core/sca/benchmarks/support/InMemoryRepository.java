@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.support;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-in for a Spring Data repository interface, so services can be benchmarked
+ * without a database. Implements the CRUD methods the services use; custom queries are supplied
+ * with {@link #with(String, Function)}, anything else throws.
+ */
+public final class InMemoryRepository<T, R> implements InvocationHandler {
+
+    private final Class<R> repositoryType;
+    private final Function<T, UUID> idGetter;
+    private final BiConsumer<T, UUID> idSetter;
+    private final Map<UUID, T> rows = new ConcurrentHashMap<>();
+    private final Map<String, Function<Object[], Object>> queries = new HashMap<>();
+
+    private InMemoryRepository(Class<R> repositoryType, Function<T, UUID> idGetter, BiConsumer<T, UUID> idSetter) {
+        this.repositoryType = repositoryType;
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+    }
+
+    public static <T, R> InMemoryRepository<T, R> of(Class<R> repositoryType,
+                                                     Function<T, UUID> idGetter,
+                                                     BiConsumer<T, UUID> idSetter) {
+        return new InMemoryRepository<>(repositoryType, idGetter, idSetter);
+    }
+
+    /**
+     * Answers the named repository method with the given function of its arguments.
+     */
+    public InMemoryRepository<T, R> with(String method, Function<Object[], Object> answer) {
+        queries.put(method, answer);
+        return this;
+    }
+
+    public Map<UUID, T> rows() {
+        return rows;
+    }
+
+    public R build() {
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, this));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Function<Object[], Object> query = queries.get(method.getName());
+        if (query != null) {
+            return query.apply(args);
+        }
+        return switch (method.getName()) {
+            case "save" -> Mono.fromSupplier(() -> save((T) args[0]));
+            case "findById" -> Mono.fromSupplier(() -> rows.get((UUID) args[0]));
+            case "existsById" -> Mono.fromSupplier(() -> rows.containsKey((UUID) args[0]));
+            case "delete" -> Mono.fromRunnable(() -> rows.remove(idGetter.apply((T) args[0])));
+            case "deleteById" -> Mono.fromRunnable(() -> rows.remove((UUID) args[0]));
+            case "findAll" -> Flux.fromIterable(rows.values());
+            case "count" -> Mono.fromSupplier(() -> (long) rows.size());
+            case "toString" -> "InMemoryRepository(" + repositoryType.getSimpleName() + ")";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(
+                    repositoryType.getSimpleName() + "#" + method.getName() + " is not stubbed");
+        };
+    }
+
+    private T save(T entity) {
+        if (idGetter.apply(entity) == null) {
+            idSetter.accept(entity, UUID.randomUUID());
+        }
+        rows.put(idGetter.apply(entity), entity);
+        return entity;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.benchmarks.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.sca.core.await.SCAStatusWaiters;
+import com.firefly.core.sca.core.cache.SCASingleFlight;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeGenerator;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeHasher;
+import com.firefly.core.sca.core.concurrency.SCAConflictRetry;
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.firefly.core.sca.core.config.SCAAwaitProperties;
+import com.firefly.core.sca.core.config.SCABatchValidationProperties;
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import com.firefly.core.sca.core.config.SCAConcurrencyProperties;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.config.SCAMetricsProperties;
+import com.firefly.core.sca.core.config.SCAPipelineProperties;
+import com.firefly.core.sca.core.config.SCASingleFlightProperties;
+import com.firefly.core.sca.core.execution.SCAExecutionModel;
+import com.firefly.core.sca.core.mappers.SCAAuditMapperImpl;
+import com.firefly.core.sca.core.mappers.SCAChallengeMapperImpl;
+import com.firefly.core.sca.core.mappers.SCAOperationMapperImpl;
+import com.firefly.core.sca.core.metrics.SCAMetricsPostProcessor;
+import com.firefly.core.sca.core.metrics.SCAValidationMetrics;
+import com.firefly.core.sca.core.pipeline.SCAAttemptPipeline;
+import com.firefly.core.sca.core.pipeline.SCAAttemptRecorder;
+import com.firefly.core.sca.core.pipeline.SCAAuditPipeline;
+import com.firefly.core.sca.core.services.SCAAuditServiceImpl;
+import com.firefly.core.sca.core.services.SCAChallengeServiceImpl;
+import com.firefly.core.sca.core.services.SCAOperationServiceImpl;
+import com.firefly.core.sca.core.throttling.SCAAttemptLimiter;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
+import com.firefly.core.sca.models.entities.SCAAttempt;
+import com.firefly.core.sca.models.entities.SCAAudit;
+import com.firefly.core.sca.models.entities.SCAChallenge;
+import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.projections.SCAValidationOutcome;
+import com.firefly.core.sca.models.repositories.SCAAttemptRepository;
+import com.firefly.core.sca.models.repositories.SCAAuditRepository;
+import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Minimal Spring contexts wiring the real service implementations to in-memory repositories.
+ * <p>
+ * The operation validation statement always verifies the code, and a registered failed attempt
+ * never locks the operation; everything else behaves like a plain table. Operation updates and
+ * triggers are atomic per row and compare and bump its version like the statements do.
+ */
+public final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    public static AnnotationConfigApplicationContext services(SCAExecutionProperties execution) {
+        return services(execution, new SCAAttemptLimitProperties());
+    }
+
+    public static AnnotationConfigApplicationContext services(SCAExecutionProperties execution,
+                                                              SCAAttemptLimitProperties attemptLimit) {
+        return services(execution, attemptLimit, false);
+    }
+
+    /**
+     * With instrumented set, services and repositories are wrapped by SCAMetricsPostProcessor
+     * as in the application.
+     */
+    public static AnnotationConfigApplicationContext services(SCAExecutionProperties execution,
+                                                              SCAAttemptLimitProperties attemptLimit,
+                                                              boolean instrumented) {
+        InMemoryRepository<SCAOperation, SCAOperationRepository> operations = InMemoryRepository
+                .of(SCAOperationRepository.class, SCAOperation::getId, SCAOperation::setId)
+                .with("validateAndConsumeChallenge", args -> Mono.fromSupplier(() -> verified((UUID) args[0])))
+                .with("registerFailedAttempt", args -> Mono.just(1));
+        operations.with("trigger", args -> Mono.justOrEmpty(operations.rows().computeIfPresent((UUID) args[0],
+                (id, current) -> {
+                    current.setStatus(SCAStatusEnum.PENDING);
+                    current.setFailedAttempts(0);
+                    current.setVersion(version(current) + 1);
+                    return current;
+                })).map(SCAOperation::getId));
+        operations.with("updateOperation", args -> Mono.fromSupplier(() -> {
+            Long expectedVersion = (Long) args[7];
+            SCAOperation[] written = new SCAOperation[1];
+            operations.rows().computeIfPresent((UUID) args[0], (id, current) -> {
+                if (expectedVersion != null && expectedVersion != version(current)) {
+                    return current;
+                }
+                SCAOperation updated = new SCAOperation();
+                updated.setId(id);
+                updated.setReferenceId((String) args[1]);
+                updated.setOperationType(args[2] != null ? SCAOperationTypeEnum.valueOf((String) args[2]) : null);
+                updated.setPartyId((String) args[3]);
+                updated.setStatus(args[4] != null ? SCAStatusEnum.valueOf((String) args[4]) : null);
+                updated.setCreatedAt(current.getCreatedAt());
+                updated.setExpiresAt((LocalDateTime) args[5]);
+                updated.setLastUpdated(LocalDateTime.now());
+                updated.setCancelledAt((LocalDateTime) args[6]);
+                updated.setFailedAttempts(current.getFailedAttempts());
+                updated.setVersion(version(current) + 1);
+                written[0] = updated;
+                return updated;
+            });
+            return written[0];
+        }));
+        InMemoryRepository<SCAChallenge, SCAChallengeRepository> challenges = InMemoryRepository
+                .of(SCAChallengeRepository.class, SCAChallenge::getId, SCAChallenge::setId);
+        challenges.with("findActiveChallengeForOperation", args -> Mono.justOrEmpty(challenges.rows().values().stream()
+                .filter(challenge -> challenge.getScaOperationId().equals(args[0]))
+                .filter(challenge -> !Boolean.TRUE.equals(challenge.getUsed()) && challenge.getRetiredAt() == null)
+                .findFirst()));
+        challenges.with("consume", args -> Mono.fromSupplier(() -> {
+            SCAChallenge challenge = challenges.rows().get((UUID) args[0]);
+            if (challenge == null || Boolean.TRUE.equals(challenge.getUsed()) || challenge.getRetiredAt() != null) {
+                return null;
+            }
+            challenge.setUsed(true);
+            return challenge.getId();
+        }));
+        InMemoryRepository<SCAAttempt, SCAAttemptRepository> attempts = InMemoryRepository
+                .of(SCAAttemptRepository.class, SCAAttempt::getId, SCAAttempt::setId);
+        InMemoryRepository<SCAAudit, SCAAuditRepository> audits = InMemoryRepository
+                .of(SCAAuditRepository.class, SCAAudit::getId, SCAAudit::setId);
+        audits.with("findAllByScaOperationId", args -> Flux.fromStream(audits.rows().values().stream()
+                        .filter(audit -> audit.getScaOperationId().equals(args[0])))
+                        .skip(((Pageable) args[1]).getOffset())
+                        .take(((Pageable) args[1]).getPageSize()))
+                .with("countByScaOperationId", args -> Mono.fromSupplier(() -> audits.rows().values().stream()
+                        .filter(audit -> audit.getScaOperationId().equals(args[0]))
+                        .count()));
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean("operationRows", InMemoryRepository.class, () -> operations);
+        context.registerBean("challengeRows", InMemoryRepository.class, () -> challenges);
+        context.registerBean("attemptRows", InMemoryRepository.class, () -> attempts);
+        context.registerBean("auditRows", InMemoryRepository.class, () -> audits);
+        context.registerBean(SCAOperationRepository.class, operations::build);
+        context.registerBean(SCAChallengeRepository.class, challenges::build);
+        context.registerBean(SCAAttemptRepository.class, attempts::build);
+        context.registerBean(SCAAuditRepository.class, audits::build);
+
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(ObjectMapper.class, ObjectMapper::new);
+        context.registerBean(SCAExecutionProperties.class, () -> execution);
+        context.registerBean(SCAAttemptLimitProperties.class, () -> attemptLimit);
+        context.registerBean(SCAChallengeProperties.class);
+        context.registerBean(SCAPipelineProperties.class);
+        context.registerBean(SCABatchValidationProperties.class);
+        context.registerBean(SCAConcurrencyProperties.class);
+        context.registerBean(SCASingleFlightProperties.class);
+        context.registerBean(SCAAwaitProperties.class);
+
+        context.registerBean(SCAOperationMapperImpl.class);
+        context.registerBean(SCAChallengeMapperImpl.class);
+        context.registerBean(SCAAuditMapperImpl.class);
+        context.registerBean(SCASingleFlight.class);
+        context.registerBean(SCAStatusWaiters.class);
+        context.registerBean(SCAAttemptLimiter.class);
+        context.registerBean(SCAAttemptPipeline.class);
+        context.registerBean(SCAAuditPipeline.class);
+        context.registerBean(SCAAttemptRecorder.class);
+        context.registerBean(SCAExecutionModel.class);
+        context.registerBean(SCAChallengeCodeGenerator.class);
+        context.registerBean(SCAChallengeCodeHasher.class);
+        context.registerBean(SCAValidationMetrics.class);
+        context.registerBean(SCAConflictRetry.class);
+        if (instrumented) {
+            context.registerBean(SCAMetricsProperties.class);
+            context.registerBean(SCAMetricsPostProcessor.class);
+        }
+
+        context.registerBean(SCAOperationServiceImpl.class);
+        context.registerBean(SCAChallengeServiceImpl.class);
+        context.registerBean(SCAAuditServiceImpl.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Empties every in-memory repository of the context, e.g. between measurement iterations.
+     */
+    public static void clearRepositories(AnnotationConfigApplicationContext context) {
+        context.getBeansOfType(InMemoryRepository.class).values().forEach(repository -> repository.rows().clear());
+    }
+
+    /**
+     * Rows saved in memory skip the insert that would set version 0.
+     */
+    private static long version(SCAOperation operation) {
+        return operation.getVersion() == null ? 0 : operation.getVersion();
+    }
+
+    private static SCAValidationOutcome verified(UUID operationId) {
+        SCAValidationOutcome outcome = new SCAValidationOutcome();
+        outcome.setOutcome(SCAValidationOutcome.Outcome.VERIFIED);
+        outcome.setChallengeId(UUID.randomUUID());
+        outcome.setPartyId("party-" + operationId);
+        outcome.setOperationType(SCAOperationTypeEnum.TRANSFER);
+        outcome.setFailedAttempts(0);
+        return outcome;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.await;
+
+import com.firefly.core.sca.core.config.SCAAwaitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node-local registry of requests parked until an operation is written, for long-polling clients.
+ * <p>
+ * Services signal an operation after writing it, which wakes every waiter of that operation. A
+ * waiter costs a few dozen bytes: its entry in the operation's waiter array and one slot in a
+ * timing wheel, so timeouts need no timer task per waiter. Signals bump a striped epoch, and a
+ * waiter registered after reading the operation wakes at once when a signal came in between.
+ * <p>
+ * Writes on other nodes are noticed by rechecks. They run on a grid shared by all waiters of an
+ * operation, so their re-reads coalesce into one (see SCASingleFlight), and offset by the operation
+ * ID, which spreads the rechecks of different operations over the interval.
+ */
+@Component
+public class SCAStatusWaiters implements DisposableBean {
+
+    public enum Wake {
+        SIGNALLED,  // the operation was written on this node
+        TIMED_OUT,  // the deadline passed
+        REJECTED    // too many waiters, the caller should answer at once
+    }
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final Map<UUID, Waiter[]> waiters = new ConcurrentHashMap<>();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final AtomicInteger parked = new AtomicInteger();
+    private final int maxWaiters;
+
+    private final Queue<Waiter>[] wheel;
+    private final long tickNanos;
+    private final long recheckNanos;
+    private final long origin = System.nanoTime();
+    private volatile long processedTick; // written by the timer only
+    private final Disposable timer;
+
+    private final Counter signalled;
+    private final Counter timedOut;
+    private final Counter rejected;
+
+    @SuppressWarnings("unchecked")
+    public SCAStatusWaiters(SCAAwaitProperties properties, MeterRegistry meterRegistry) {
+        this.maxWaiters = properties.getMaxWaiters();
+        this.tickNanos = properties.getTick().toNanos();
+        this.recheckNanos = properties.getRecheckInterval().toNanos();
+        this.wheel = new Queue[(int) (properties.getMaxTimeout().toNanos() / tickNanos) + 2];
+        Arrays.setAll(wheel, slot -> new ConcurrentLinkedQueue<>());
+        this.signalled = wakeups(meterRegistry, "signalled");
+        this.timedOut = wakeups(meterRegistry, "timed-out");
+        this.rejected = wakeups(meterRegistry, "rejected");
+        Gauge.builder("sca.await.waiters", parked, AtomicInteger::get)
+                .description("Requests parked until their operation changes")
+                .register(meterRegistry);
+        this.timer = Schedulers.parallel().schedulePeriodically(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Signal epoch of the operation, to be read before the state the caller is going to wait on.
+     */
+    public long epoch(UUID operationId) {
+        return epochs.get(stripe(operationId));
+    }
+
+    /**
+     * The next recheck of the operation after nowNanos (a System.nanoTime value). Every waiter of
+     * the operation gets the same instants, which fall into the same tick of the wheel.
+     */
+    public long recheckAt(UUID operationId, long nowNanos) {
+        long offset = Math.floorMod(operationId.getLeastSignificantBits(), recheckNanos);
+        long elapsed = nowNanos - origin - offset;
+        return origin + offset + (Math.floorDiv(elapsed, recheckNanos) + 1) * recheckNanos;
+    }
+
+    /**
+     * Parks until the operation is signalled or deadlineNanos (a System.nanoTime value) passes.
+     * Completes at once when the operation was signalled since epoch was read.
+     */
+    public Mono<Wake> await(UUID operationId, long epoch, long deadlineNanos) {
+        return Mono.create(sink -> {
+            if (parked.incrementAndGet() > maxWaiters) {
+                parked.decrementAndGet();
+                rejected.increment();
+                sink.success(Wake.REJECTED);
+                return;
+            }
+            Waiter waiter = new Waiter(operationId, sink, tickOf(deadlineNanos));
+            waiters.compute(operationId, (id, current) -> append(current, waiter));
+            wheel[slot(waiter.deadlineTick)].offer(waiter);
+            // both run at once when the sink already completed or was cancelled
+            sink.onDispose(parked::decrementAndGet);
+            sink.onCancel(() -> {
+                if (waiter.settle()) {
+                    remove(waiter);
+                }
+            });
+            if (epochs.get(stripe(operationId)) != epoch && waiter.settle()) {
+                remove(waiter);
+                sink.success(Wake.SIGNALLED);
+            }
+        });
+    }
+
+    /**
+     * Wakes every waiter of the operation; call after the write is visible to readers.
+     */
+    public void signal(UUID operationId) {
+        epochs.incrementAndGet(stripe(operationId));
+        Waiter[] woken = waiters.remove(operationId);
+        if (woken == null) {
+            return;
+        }
+        for (Waiter waiter : woken) {
+            if (waiter.settle()) {
+                signalled.increment();
+                waiter.sink.success(Wake.SIGNALLED);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timer.dispose();
+    }
+
+    /**
+     * Times out the waiters of every tick that has passed since the last run.
+     */
+    private void advance() {
+        long now = (System.nanoTime() - origin) / tickNanos;
+        for (long tick = processedTick + 1; tick <= now; tick++) {
+            expire(tick);
+            processedTick = tick;
+        }
+    }
+
+    private void expire(long tick) {
+        Queue<Waiter> slot = wheel[slot(tick)];
+        List<Waiter> later = null;
+        Waiter waiter;
+        while ((waiter = slot.poll()) != null) {
+            if (waiter.deadlineTick > tick) {
+                if (later == null) {
+                    later = new ArrayList<>();
+                }
+                later.add(waiter);
+            } else if (waiter.settle()) {
+                remove(waiter);
+                timedOut.increment();
+                waiter.sink.success(Wake.TIMED_OUT);
+            }
+        }
+        if (later != null) {
+            slot.addAll(later);
+        }
+    }
+
+    /**
+     * Deadlines are rounded up to the next tick the timer has not processed yet, and capped at
+     * one revolution of the wheel.
+     */
+    private long tickOf(long deadlineNanos) {
+        long next = processedTick + 1;
+        long tick = Math.ceilDiv(deadlineNanos - origin, tickNanos);
+        return Math.clamp(tick, next, next + wheel.length - 2);
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % wheel.length);
+    }
+
+    private void remove(Waiter waiter) {
+        waiters.computeIfPresent(waiter.operationId, (id, current) -> without(current, waiter));
+    }
+
+    private static Waiter[] append(Waiter[] current, Waiter waiter) {
+        if (current == null) {
+            return new Waiter[]{waiter};
+        }
+        Waiter[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = waiter;
+        return grown;
+    }
+
+    /**
+     * Returns null once the last waiter is gone, which drops the operation's entry.
+     */
+    private static Waiter[] without(Waiter[] current, Waiter waiter) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == waiter) {
+                if (current.length == 1) {
+                    return null;
+                }
+                Waiter[] shrunk = new Waiter[current.length - 1];
+                System.arraycopy(current, 0, shrunk, 0, i);
+                System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+                return shrunk;
+            }
+        }
+        return current;
+    }
+
+    private static int stripe(UUID operationId) {
+        return operationId.hashCode() & (EPOCH_STRIPES - 1);
+    }
+
+    private static Counter wakeups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("sca.await.wakeups")
+                .description("Parked requests released, by cause")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Settled (set) once the waiter was woken, timed out or cancelled; extends AtomicBoolean to
+     * save an object per waiter.
+     */
+    private static final class Waiter extends AtomicBoolean {
+
+        private final UUID operationId;
+        private final MonoSink<Wake> sink;
+        private final long deadlineTick;
+
+        private Waiter(UUID operationId, MonoSink<Wake> sink, long deadlineTick) {
+            this.operationId = operationId;
+            this.sink = sink;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private boolean settle() {
+            return compareAndSet(false, true);
+        }
+    }
+}
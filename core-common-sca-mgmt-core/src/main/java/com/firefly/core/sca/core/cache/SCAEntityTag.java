@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Strong entity tag of a resource, with its last modification time where the table keeps one.
+ * Tags of versioned rows change with every write since every statement bumps the version.
+ *
+ * @param value        the quoted ETag
+ * @param lastModified null when the resource has no modification time
+ */
+public record SCAEntityTag(String value, LocalDateTime lastModified) {
+
+    /**
+     * Tag of a versioned row; the last update is part of it so a row recreated under the same ID
+     * does not match tags of the deleted one.
+     */
+    public static SCAEntityTag ofVersion(Long version, LocalDateTime lastUpdated) {
+        StringBuilder tag = new StringBuilder("\"").append(version == null ? 0 : version);
+        if (lastUpdated != null) {
+            long micros = lastUpdated.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastUpdated.getNano() / 1_000;
+            tag.append('-').append(Long.toHexString(micros));
+        }
+        return new SCAEntityTag(tag.append('"').toString(), lastUpdated);
+    }
+
+    /**
+     * Tag of a row without a version, from a digest of the fields of its representation.
+     */
+    public static SCAEntityTag ofContent(Object... fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object field : fields) {
+                digest.update(Objects.toString(field, "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            byte[] hash = digest.digest();
+            return new SCAEntityTag("\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"", null);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.cache;
+
+import com.firefly.core.sca.core.config.SCASingleFlightProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first read of a key runs, reads of the same key
+ * arriving while it is in flight, or within the configured window after it completed, get its
+ * result instead of issuing their own query. Errors are shared with the reads already waiting
+ * but never kept. Reads inside a transaction are never shared, since they may see its
+ * uncommitted writes.
+ * <p>
+ * Loads should return entities that callers do not modify, as every caller of a flight gets
+ * the same instance. sca.singleflight.requests / sca.singleflight.loads is the fan-in ratio.
+ */
+@Component
+public class SCASingleFlight {
+
+    public enum Group {
+        OPERATION,
+        CHALLENGE,
+        HISTORY,
+        AUDIT,
+        OPERATION_TAG(OPERATION),
+        CHALLENGE_TAG(CHALLENGE);
+
+        /**
+         * Group whose writes also end sharing in this one, e.g. version lookups of a resource.
+         */
+        private final Group resource;
+
+        Group() {
+            this.resource = this;
+        }
+
+        Group(Group resource) {
+            this.resource = resource;
+        }
+    }
+
+    private final SCASingleFlightProperties properties;
+    private final Map<Key, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final Map<Group, Counter> requests = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> loads = new EnumMap<>(Group.class);
+
+    public SCASingleFlight(SCASingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Group group : Group.values()) {
+            String tag = group.name().toLowerCase();
+            Counter groupRequests = Counter.builder("sca.singleflight.requests")
+                    .description("Reads asked for, shared or not")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Counter groupLoads = Counter.builder("sca.singleflight.loads")
+                    .description("Reads that reached the database")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Gauge.builder("sca.singleflight.fan-in", () -> fanIn(groupRequests, groupLoads))
+                    .description("Reads answered per database read since start")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            requests.put(group, groupRequests);
+            loads.put(group, groupLoads);
+        }
+    }
+
+    /**
+     * Returns the result of the flight in progress for the key, or starts one with the loader.
+     */
+    public <T> Mono<T> share(Group group, Object id, Supplier<Mono<T>> loader) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(loader);
+        }
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .map(TransactionSynchronizationManager::isActualTransactionActive)
+                .onErrorReturn(NoTransactionException.class, false)
+                .flatMap(inTransaction -> inTransaction ? loader.get() : join(new Key(group, id), loader));
+    }
+
+    /**
+     * Ends sharing of the key's current flights, e.g. after this node wrote the row they read,
+     * including those of groups derived from the given one.
+     */
+    public void forget(Group group, Object id) {
+        for (Group derived : Group.values()) {
+            if (derived.resource == group) {
+                flights.remove(new Key(derived, id));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> join(Key key, Supplier<Mono<T>> loader) {
+        requests.get(key.group()).increment();
+        Flight<T> fresh = new Flight<>(key, loader);
+        Flight<T> existing = (Flight<T>) flights.putIfAbsent(key, fresh);
+        return existing != null ? existing.result : fresh.result;
+    }
+
+    private static double fanIn(Counter requests, Counter loads) {
+        double loaded = loads.count();
+        return loaded == 0 ? 0 : requests.count() / loaded;
+    }
+
+    private record Key(Group group, Object id) {
+    }
+
+    private final class Flight<T> {
+
+        private final Mono<T> result;
+
+        private Flight(Key key, Supplier<Mono<T>> loader) {
+            this.result = Mono.defer(() -> {
+                        loads.get(key.group()).increment();
+                        return loader.get();
+                    })
+                    .doOnError(e -> flights.remove(key, this))
+                    .doOnSuccess(value -> expire(key))
+                    .cache();
+        }
+
+        private void expire(Key key) {
+            Duration window = properties.getWindow();
+            if (window.isZero() || window.isNegative()) {
+                flights.remove(key, this);
+            } else {
+                Schedulers.parallel().schedule(() -> flights.remove(key, this), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
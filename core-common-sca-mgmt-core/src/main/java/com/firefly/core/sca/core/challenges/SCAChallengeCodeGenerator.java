@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.challenges;
+
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates one-time codes for server-created challenges.
+ * <p>
+ * A single SecureRandom serializes all callers on its internal lock. Codes are therefore drawn
+ * from a set of independent DRBG instances (a few per core), picked at random per call, so
+ * concurrent callers rarely meet on the same lock. Every instance is seeded when the bean is
+ * created, so generation never waits for OS entropy on the event loop. Each code takes one
+ * nextBytes call; characters are mapped with rejection sampling so every alphabet character
+ * is equally likely.
+ */
+@Component
+public class SCAChallengeCodeGenerator {
+
+    private final SecureRandom[] stripes;
+    private final Map<SCAOperationTypeEnum, CodeFormat> formats = new EnumMap<>(SCAOperationTypeEnum.class);
+
+    public SCAChallengeCodeGenerator(SCAChallengeProperties properties) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.stripes = new SecureRandom[stripeCount];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = seeded();
+        }
+        for (SCAOperationTypeEnum type : SCAOperationTypeEnum.values()) {
+            formats.put(type, new CodeFormat(properties.codeLength(type), properties.alphabet(type)));
+        }
+    }
+
+    public String generate(SCAOperationTypeEnum type) {
+        CodeFormat format = formats.get(type != null ? type : SCAOperationTypeEnum.OTHER);
+        SecureRandom random = stripes[ThreadLocalRandom.current().nextInt() & (stripes.length - 1)];
+        return format.draw(random);
+    }
+
+    private static SecureRandom seeded() {
+        SecureRandom random;
+        try {
+            random = SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            random = new SecureRandom();
+        }
+        random.nextBytes(new byte[1]); // forces seeding now rather than on the first request
+        return random;
+    }
+
+    private static final class CodeFormat {
+
+        private final int length;
+        private final char[] alphabet;
+        private final int acceptBelow; // largest multiple of the alphabet size that fits in a byte
+
+        CodeFormat(int length, String alphabet) {
+            if (length < 1 || alphabet.isEmpty() || alphabet.length() > 256) {
+                throw new IllegalArgumentException("Invalid challenge code format: length " + length
+                        + ", alphabet of " + alphabet.length() + " characters");
+            }
+            this.length = length;
+            this.alphabet = alphabet.toCharArray();
+            this.acceptBelow = 256 - 256 % this.alphabet.length;
+        }
+
+        String draw(SecureRandom random) {
+            char[] code = new char[length];
+            byte[] buffer = new byte[length + length / 2 + 4];
+            int filled = 0;
+            while (filled < length) {
+                random.nextBytes(buffer);
+                for (int i = 0; i < buffer.length && filled < length; i++) {
+                    int value = buffer[i] & 0xFF;
+                    if (value < acceptBelow) {
+                        code[filled++] = alphabet[value % alphabet.length];
+                    }
+                }
+            }
+            return new String(code);
+        }
+    }
+}
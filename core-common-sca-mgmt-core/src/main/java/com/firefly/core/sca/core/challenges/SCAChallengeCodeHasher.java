@@ -0,0 +1,175 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.challenges;
+
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Turns challenge codes into keyed digests for storage and verifies user input against them.
+ * <p>
+ * A stored code is {@code "h1:" + hex(HMAC-SHA256(key, operationId || code))}. The operation ID
+ * keeps equal codes of different operations distinct, and is known on both validation paths
+ * before the challenge row is read. Code characters are fed as UTF-16 code units, so no
+ * encoding step is needed.
+ * <p>
+ * Each thread keeps its own Mac and buffers, so {@link #matches} allocates nothing. Its
+ * comparison runs over the whole digest whatever the input. Without a key, codes are stored
+ * and compared as plaintext, as before; startup fails instead when the key is required.
+ */
+@Slf4j
+@Component
+public class SCAChallengeCodeHasher {
+
+    public static final String PREFIX = "h1:";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGEST_LENGTH = 32;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SecretKeySpec key;
+    private final boolean acceptPlaintext;
+    private final ThreadLocal<State> state;
+
+    public SCAChallengeCodeHasher(SCAChallengeProperties properties) {
+        String encodedKey = properties.getHashing().getKey();
+        this.key = encodedKey == null || encodedKey.isBlank()
+                ? null
+                : new SecretKeySpec(Base64.getDecoder().decode(encodedKey), ALGORITHM);
+        this.acceptPlaintext = key == null || properties.getHashing().isAcceptPlaintext();
+        this.state = ThreadLocal.withInitial(this::newState);
+        if (key != null) {
+            state.get(); // fails fast on an unusable key
+        } else if (properties.getHashing().isRequired()) {
+            throw new IllegalStateException("sca.challenge.hashing.key (SCA_CHALLENGE_HMAC_KEY) is required");
+        } else {
+            log.warn("No challenge hashing key set: challenge codes are stored in plaintext and attempts are not keyed");
+        }
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    /**
+     * The value to store for a code, or the code itself when hashing is off.
+     */
+    public String hash(UUID operationId, String code) {
+        if (key == null || code == null) {
+            return code;
+        }
+        State current = state.get();
+        current.digest(operationId, code);
+        return PREFIX + HexFormat.of().formatHex(current.output);
+    }
+
+    /**
+     * Plaintext codes of rows written before hashing, if they are still accepted; null otherwise.
+     */
+    public String plaintextFallback(String code) {
+        return acceptPlaintext ? code : null;
+    }
+
+    public boolean matches(UUID operationId, String code, String stored) {
+        if (code == null || stored == null) {
+            return false;
+        }
+        if (key == null || !stored.startsWith(PREFIX)) {
+            return acceptPlaintext && constantTimeEquals(code, stored);
+        }
+        if (stored.length() != PREFIX.length() + DIGEST_LENGTH * 2) {
+            return false;
+        }
+        State current = state.get();
+        current.digest(operationId, code);
+        int difference = 0;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int b = current.output[i] & 0xFF;
+            int offset = PREFIX.length() + i * 2;
+            difference |= HEX[b >>> 4] ^ stored.charAt(offset);
+            difference |= HEX[b & 0x0F] ^ stored.charAt(offset + 1);
+        }
+        return difference == 0;
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        int difference = a.length() ^ b.length();
+        for (int i = 0; i < b.length(); i++) {
+            difference |= (i < a.length() ? a.charAt(i) : 0) ^ b.charAt(i);
+        }
+        return difference == 0;
+    }
+
+    private State newState() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return new State(mac);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Challenge code hashing is misconfigured", e);
+        }
+    }
+
+    private static final class State {
+
+        private final Mac mac;
+        private final byte[] output = new byte[DIGEST_LENGTH];
+        private byte[] input = new byte[16 + 2 * 32];
+
+        State(Mac mac) {
+            this.mac = mac;
+        }
+
+        void digest(UUID operationId, String code) {
+            int length = 16 + 2 * code.length();
+            if (input.length < length) {
+                input = new byte[length];
+            }
+            putLong(operationId.getMostSignificantBits(), 0);
+            putLong(operationId.getLeastSignificantBits(), 8);
+            for (int i = 0; i < code.length(); i++) {
+                char c = code.charAt(i);
+                input[16 + 2 * i] = (byte) (c >>> 8);
+                input[17 + 2 * i] = (byte) c;
+            }
+            try {
+                mac.update(input, 0, length);
+                mac.doFinal(output, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException("Challenge code hashing failed", e);
+            }
+        }
+
+        private void putLong(long value, int offset) {
+            for (int i = 7; i >= 0; i--) {
+                input[offset + i] = (byte) value;
+                value >>>= 8;
+            }
+        }
+    }
+}
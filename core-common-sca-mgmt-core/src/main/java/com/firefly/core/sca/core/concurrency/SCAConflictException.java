@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.concurrency;
+
+import java.util.UUID;
+
+/**
+ * Raised when an update carries a version the row no longer has, i.e. it was changed since the
+ * caller read it. Never retried: the caller has to read the row again and decide.
+ */
+public class SCAConflictException extends RuntimeException {
+
+    private final String resource;
+    private final UUID id;
+    private final Long expectedVersion;
+
+    public SCAConflictException(String resource, UUID id, Long expectedVersion) {
+        super(resource + " " + id + " was modified concurrently, version " + expectedVersion + " is stale");
+        this.resource = resource;
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.concurrency;
+
+import com.firefly.core.sca.core.config.SCAConcurrencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Bounded retry with exponential backoff and jitter for writes that failed only because another
+ * writer got there first: optimistic locking failures of versioned saves, and serialization
+ * failures or deadlocks reported by PostgreSQL. Those are safe to retry because the retried Mono
+ * re-runs the whole statement against the current row. Stale client versions
+ * ({@link SCAConflictException}) are not retried.
+ * <p>
+ * A failed statement aborts the surrounding transaction, so the wrapped Mono must not run inside
+ * one that outlives it.
+ */
+@Component
+public class SCAConflictRetry {
+
+    private final SCAConcurrencyProperties properties;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public SCAConflictRetry(SCAConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.retries = Counter.builder("sca.concurrency.retries")
+                .description("Writes retried after losing a race with a concurrent writer")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("sca.concurrency.retries.exhausted")
+                .description("Writes that still failed after the last retry")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> retrying(Mono<T> write) {
+        if (properties.getMaxRetries() <= 0) {
+            return write;
+        }
+        return write.retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getMinBackoff())
+                .maxBackoff(properties.getMaxBackoff())
+                .jitter(properties.getJitter())
+                .filter(ConcurrencyFailureException.class::isInstance)
+                .doBeforeRetry(signal -> retries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    exhausted.increment();
+                    return signal.failure();
+                }));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of validation attempt throttling and lockout (see SCAAttemptLimiter).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.attempt-limit")
+public class SCAAttemptLimitProperties {
+
+    /**
+     * Wrong codes after which an operation is locked (moved to FAILED). Enforced in the database,
+     * whether or not the in-memory limiter is enabled.
+     */
+    private int maxFailedAttempts = 3;
+
+    /**
+     * Enables the in-memory limiter that rejects over-limit validations before they reach the database.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Validation attempts per operation ID.
+     */
+    private Bucket operation = new Bucket(5, Duration.ofSeconds(12));
+
+    /**
+     * Validation attempts per party ID, across all of its operations.
+     */
+    private Bucket party = new Bucket(30, Duration.ofSeconds(2));
+
+    /**
+     * Maximum number of operation and party IDs tracked in memory.
+     */
+    private long maximumTracked = 100_000;
+
+    @Data
+    public static class Bucket {
+
+        /**
+         * Attempts allowed in a burst.
+         */
+        private int capacity;
+
+        /**
+         * Time after which one more attempt is allowed.
+         */
+        private Duration refillInterval;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, Duration refillInterval) {
+            this.capacity = capacity;
+            this.refillInterval = refillInterval;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the long-poll await of operation status changes (see SCAStatusWaiters).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.await")
+public class SCAAwaitProperties {
+
+    /**
+     * Used when the request does not give a timeout.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Longer timeouts requested by clients are cut to this.
+     */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Waiters are only woken by writes on their own node, so the operation is re-read this often
+     * to notice writes made on other nodes: once for all of its waiters on a node, at an offset
+     * derived from its ID.
+     */
+    private Duration recheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Resolution of the timeouts; waiters time out up to this much late.
+     */
+    private Duration tick = Duration.ofMillis(250);
+
+    /**
+     * Requests beyond this many parked waiters get the current state at once.
+     */
+    private int maxWaiters = 500_000;
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of the batch validation endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.batch-validation")
+public class SCABatchValidationProperties {
+
+    /**
+     * Items validated at the same time per request. Each one holds a pooled connection while
+     * its statement runs, so keep this below the R2DBC pool size.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Items accepted per request; further items are answered with an error without validation.
+     */
+    private int maxItems = 1000;
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of server-generated challenges (see SCAChallengeCodeGenerator). The top-level values
+ * apply to every operation type unless overridden under {@code types.<TYPE>}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.challenge")
+public class SCAChallengeProperties {
+
+    /**
+     * Number of characters of a generated code.
+     */
+    private int codeLength = 6;
+
+    /**
+     * Characters a generated code is drawn from, uniformly.
+     */
+    private String alphabet = "0123456789";
+
+    /**
+     * How long a generated challenge can be validated.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Overrides per operation type; unset values fall back to the defaults above.
+     */
+    private Map<SCAOperationTypeEnum, Type> types = new EnumMap<>(SCAOperationTypeEnum.class);
+
+    private Hashing hashing = new Hashing();
+
+    @Data
+    public static class Hashing {
+
+        /**
+         * Base64 HMAC-SHA256 key. When set, codes are stored as "h1:" digests instead of plaintext.
+         */
+        private String key;
+
+        /**
+         * Whether startup fails without a key. When off, a missing key is only logged as a warning.
+         */
+        private boolean required;
+
+        /**
+         * Whether rows written before hashing was enabled (plaintext codes) can still be validated.
+         * Turn off once the longest challenge TTL has passed after the rollout.
+         */
+        private boolean acceptPlaintext = true;
+    }
+
+    @Data
+    public static class Type {
+        private Integer codeLength;
+        private String alphabet;
+        private Duration ttl;
+    }
+
+    public int codeLength(SCAOperationTypeEnum type) {
+        Type override = types.get(type);
+        return override != null && override.getCodeLength() != null ? override.getCodeLength() : codeLength;
+    }
+
+    public String alphabet(SCAOperationTypeEnum type) {
+        Type override = types.get(type);
+        return override != null && override.getAlphabet() != null ? override.getAlphabet() : alphabet;
+    }
+
+    public Duration ttl(SCAOperationTypeEnum type) {
+        Type override = types.get(type);
+        return override != null && override.getTtl() != null ? override.getTtl() : ttl;
+    }
+}
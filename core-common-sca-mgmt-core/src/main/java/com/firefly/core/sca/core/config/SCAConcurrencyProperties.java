@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retries of writes that lost a race with a concurrent writer.
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.concurrency")
+public class SCAConcurrencyProperties {
+
+    /**
+     * Retries after the first attempt; 0 disables retrying.
+     */
+    private int maxRetries = 3;
+
+    /**
+     * Delay before the first retry, doubled for every further one.
+     */
+    private Duration minBackoff = Duration.ofMillis(5);
+
+    /**
+     * Upper bound of the delay between two retries.
+     */
+    private Duration maxBackoff = Duration.ofMillis(100);
+
+    /**
+     * Share of each delay that is randomized, so writers that collided do not retry in lockstep.
+     */
+    private double jitter = 0.5;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Where service pipelines run (see SCAExecutionModel).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.execution")
+public class SCAExecutionProperties {
+
+    /**
+     * Mode of every service without an override. R2DBC is non-blocking, so the event loop
+     * needs no thread hop.
+     */
+    private Mode mode = Mode.EVENT_LOOP;
+
+    /**
+     * Per-service overrides of the mode.
+     */
+    private Map<Service, Mode> services = new EnumMap<>(Service.class);
+
+    public Mode modeOf(Service service) {
+        return services.getOrDefault(service, mode);
+    }
+
+    public enum Mode {
+        EVENT_LOOP,       // stay on the calling (Netty / R2DBC) thread
+        BOUNDED_ELASTIC,  // subscribe on Reactor's bounded elastic pool
+        VIRTUAL_THREADS   // subscribe on a virtual-thread-per-task executor
+    }
+
+    public enum Service {
+        OPERATION,
+        CHALLENGE
+    }
+}
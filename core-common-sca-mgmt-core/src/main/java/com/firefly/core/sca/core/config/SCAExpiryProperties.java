@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the expiry sweeper that moves stale operations to EXPIRED.
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.expiry")
+public class SCAExpiryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Rows handled per statement; bounds lock time and transaction size.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Upper bound of chunks per run so one node cannot monopolize the pool.
+     */
+    private int maxChunksPerRun = 20;
+}
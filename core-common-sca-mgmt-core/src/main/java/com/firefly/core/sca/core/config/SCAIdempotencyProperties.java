@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the Idempotency-Key support of the create endpoints (see SCAIdempotencyStore).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.idempotency")
+public class SCAIdempotencyProperties {
+
+    /**
+     * When disabled the Idempotency-Key header is ignored and every request executes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a completed response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a request may execute under its key before another request may take it over,
+     * e.g. after the node holding it crashed. Keep it above the slowest create.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * How long a duplicate waits for the request holding its key before it is answered with
+     * 409 Conflict. Keep it below the caller's timeout.
+     */
+    private Duration awaitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Delay between two lookups of a key held by a request on another node.
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * Longest accepted Idempotency-Key header value.
+     */
+    private int maxKeyLength = 255;
+
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * Node-local cache of keys in flight or completed, which lets a duplicate on the same node
+     * share the in-flight result without touching the key table.
+     */
+    @Data
+    public static class NearCache {
+
+        private long maximumSize = 10_000;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the SCA business and persistence metrics (see the metrics package).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.metrics")
+public class SCAMetricsProperties {
+
+    /**
+     * Times every reactive method of the SCA services, tagged by service and method.
+     */
+    private boolean services = true;
+
+    /**
+     * Times every reactive repository method from subscription to completion, so the
+     * recorded latency covers the query itself rather than just building the publisher.
+     */
+    private boolean repositories = true;
+
+    /**
+     * Times R2DBC connection acquisition from the pool.
+     */
+    private boolean connections = true;
+
+    /**
+     * How often the pending-operation and active-challenge gauges are recounted.
+     * The counts run in the background so a scrape never waits on the database.
+     */
+    private Duration gaugeInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Monthly partition maintenance for sca_audit and sca_operation_history.
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.partitioning")
+public class SCAPartitioningProperties {
+
+    /**
+     * Whether partitions are maintained by this node.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of upcoming monthly partitions to keep created ahead of time.
+     */
+    private int premakeMonths = 3;
+
+    /**
+     * Number of past months to keep attached. 0 keeps every partition.
+     */
+    private int retentionMonths = 0;
+
+    /**
+     * What happens to partitions older than the retention.
+     */
+    private RetentionAction retentionAction = RetentionAction.DETACH;
+
+    public enum RetentionAction {
+        DETACH, // detached partitions stay as standalone tables, e.g. for archiving
+        DROP
+    }
+}
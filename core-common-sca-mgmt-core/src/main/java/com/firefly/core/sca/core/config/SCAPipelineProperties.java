@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous write-behind pipelines (see WriteBehindPipeline).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.pipelines")
+public class SCAPipelineProperties {
+
+    private WriteBehind audit = new WriteBehind();
+
+    private WriteBehind attempt = new WriteBehind();
+
+    @Data
+    public static class WriteBehind {
+
+        /**
+         * When disabled, records are written synchronously as before.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of records waiting in memory.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Records per multi-row insert; a full batch triggers an immediate flush.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum time a record waits before being flushed.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * What happens to a record when the buffer is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.WRITE_THROUGH;
+
+        /**
+         * When the caller's submit completes.
+         */
+        private Durability durability = Durability.BEST_EFFORT;
+
+        /**
+         * How long shutdown waits for the buffer to drain.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        private Spool spool = new Spool();
+    }
+
+    @Data
+    public static class Spool {
+
+        /**
+         * Whether records that cannot be written (DB errors, SPOOL overflow) go to a local file
+         * and are replayed once the database accepts writes again. Without it they wait in
+         * memory and are lost if the node stops before the database comes back.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Persistent directory of the spool and dead-letter files, each pipeline in its own
+         * subdirectory. Required when spooling is enabled: a temporary directory does not survive
+         * the restarts the spool is meant to bridge.
+         */
+        private String directory;
+    }
+
+    public enum OverflowPolicy {
+        WRITE_THROUGH, // the caller writes its record directly, i.e. backpressure onto the request
+        SPOOL,         // the record is appended to the local spool file
+        DROP,          // the record is discarded and counted
+        REJECT         // the caller gets an error
+    }
+
+    public enum Durability {
+        BEST_EFFORT,      // acknowledged once buffered in memory
+        FLUSH_BEFORE_ACK  // acknowledged once written to the database or the spool file
+    }
+}
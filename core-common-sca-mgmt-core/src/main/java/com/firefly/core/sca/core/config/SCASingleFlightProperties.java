@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the coalescing of concurrent identical reads (see SCASingleFlight).
+ */
+@Data
+@ConfigurationProperties(prefix = "sca.single-flight")
+public class SCASingleFlightProperties {
+
+    /**
+     * When disabled every read goes to the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a completed read keeps answering identical reads, on top of the time it was in
+     * flight. Writes through this node end the window at once; writes on other nodes become
+     * visible after at most this long. Zero shares in-flight reads only.
+     */
+    private Duration window = Duration.ofMillis(50);
+}
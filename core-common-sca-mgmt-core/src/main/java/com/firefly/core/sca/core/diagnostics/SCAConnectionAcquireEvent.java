@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Wait for an R2DBC connection, emitted by the timed connection factory.
+ */
+@Name("com.firefly.sca.ConnectionAcquire")
+@Label("SCA Connection Acquire")
+@Category({"Firefly", "SCA"})
+@Description("Time spent waiting for a pooled R2DBC connection")
+@StackTrace(false)
+public class SCAConnectionAcquireEvent extends Event {
+
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * Starts timing an acquisition, or returns null when the event is not recorded.
+     */
+    public static SCAConnectionAcquireEvent start() {
+        SCAConnectionAcquireEvent event = new SCAConnectionAcquireEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean success) {
+        this.success = success;
+        commit();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One code validation, with the time spent in each stage. Stages a flow does not go through
+ * stay at zero: the operation flow runs lookup, comparison and save as one statement, while the
+ * challenge flow runs them as separate round trips. Pool acquisition is recorded by
+ * {@link SCAConnectionAcquireEvent} on the same thread.
+ */
+@Name("com.firefly.sca.Validation")
+@Label("SCA Validation")
+@Category({"Firefly", "SCA"})
+@Description("SCA code validation with per-stage durations")
+@StackTrace(false)
+class SCAValidationEvent extends Event {
+
+    @Label("Flow")
+    String flow;
+
+    @Label("Operation ID")
+    String operationId;
+
+    @Label("Operation Type")
+    String operationType;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Admission")
+    @Description("In-memory lockout and rate check")
+    @Timespan(Timespan.NANOSECONDS)
+    long admission;
+
+    @Label("Validation Statement")
+    @Description("Single-statement lookup, comparison and save, including pool acquisition")
+    @Timespan(Timespan.NANOSECONDS)
+    long statement;
+
+    @Label("Challenge Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    long lookup;
+
+    @Label("Code Comparison")
+    @Timespan(Timespan.NANOSECONDS)
+    long comparison;
+
+    @Label("Status Save")
+    @Timespan(Timespan.NANOSECONDS)
+    long save;
+
+    @Label("Attempt Recording")
+    @Timespan(Timespan.NANOSECONDS)
+    long attemptRecording;
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.diagnostics;
+
+import com.firefly.core.sca.core.metrics.SCAValidationMetrics;
+import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Collects the stage durations of one validation into a {@link SCAValidationEvent}.
+ * <p>
+ * When no recording has the event enabled, {@link #begin} returns a shared disabled trace and
+ * every other method returns at once without reading the clock or wrapping publishers, so the
+ * validate path pays one enabled check per call.
+ */
+public final class SCAValidationTrace {
+
+    public enum Stage {
+        ADMISSION,
+        STATEMENT,
+        LOOKUP,
+        COMPARISON,
+        SAVE,
+        ATTEMPT_RECORDING
+    }
+
+    private static final SCAValidationTrace DISABLED = new SCAValidationTrace(null);
+
+    private final SCAValidationEvent event;
+
+    private SCAValidationTrace(SCAValidationEvent event) {
+        this.event = event;
+    }
+
+    public static SCAValidationTrace begin(SCAValidationMetrics.Flow flow, UUID operationId) {
+        SCAValidationEvent event = new SCAValidationEvent();
+        if (!event.isEnabled()) {
+            return DISABLED;
+        }
+        event.flow = flow.name();
+        event.operationId = String.valueOf(operationId);
+        event.begin();
+        return new SCAValidationTrace(event);
+    }
+
+    /**
+     * Start of a synchronous stage, to be passed to {@link #record}.
+     */
+    public long mark() {
+        return event == null ? 0L : System.nanoTime();
+    }
+
+    public void record(Stage stage, long mark) {
+        if (event != null) {
+            add(stage, System.nanoTime() - mark);
+        }
+    }
+
+    /**
+     * Times an asynchronous stage from subscription to termination.
+     */
+    public <T> Mono<T> time(Stage stage, Mono<T> mono) {
+        if (event == null) {
+            return mono;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono.doFinally(signal -> add(stage, System.nanoTime() - start));
+        });
+    }
+
+    public void operationType(SCAOperationTypeEnum operationType) {
+        if (event != null && operationType != null) {
+            event.operationType = operationType.name();
+        }
+    }
+
+    /**
+     * Commits the event once the validation produced its result or failed.
+     */
+    public Mono<ValidationResultDTO> end(Mono<ValidationResultDTO> result) {
+        if (event == null) {
+            return result;
+        }
+        return result
+                .doOnNext(validation -> commit(SCAValidationMetrics.Category.of(validation).name()))
+                .doOnError(e -> commit("ERROR"));
+    }
+
+    private void add(Stage stage, long nanos) {
+        switch (stage) {
+            case ADMISSION -> event.admission += nanos;
+            case STATEMENT -> event.statement += nanos;
+            case LOOKUP -> event.lookup += nanos;
+            case COMPARISON -> event.comparison += nanos;
+            case SAVE -> event.save += nanos;
+            case ATTEMPT_RECORDING -> event.attemptRecording += nanos;
+        }
+    }
+
+    private void commit(String outcome) {
+        event.outcome = outcome;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
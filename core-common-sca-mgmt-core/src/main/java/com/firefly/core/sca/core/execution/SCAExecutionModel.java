@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.execution;
+
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Applies the configured execution mode of a service to its pipelines.
+ * In EVENT_LOOP mode pipelines are returned unchanged.
+ */
+@Component
+public class SCAExecutionModel implements DisposableBean {
+
+    private final Map<SCAExecutionProperties.Service, Scheduler> schedulers =
+            new EnumMap<>(SCAExecutionProperties.Service.class);
+    private Scheduler virtualThreads;
+
+    public SCAExecutionModel(SCAExecutionProperties properties) {
+        for (SCAExecutionProperties.Service service : SCAExecutionProperties.Service.values()) {
+            Scheduler scheduler = switch (properties.modeOf(service)) {
+                case EVENT_LOOP -> null;
+                case BOUNDED_ELASTIC -> Schedulers.boundedElastic();
+                case VIRTUAL_THREADS -> virtualThreads();
+            };
+            if (scheduler != null) {
+                schedulers.put(service, scheduler);
+            }
+        }
+    }
+
+    public <T> Mono<T> on(SCAExecutionProperties.Service service, Mono<T> mono) {
+        Scheduler scheduler = schedulers.get(service);
+        return scheduler == null ? mono : mono.subscribeOn(scheduler);
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreads != null) {
+            virtualThreads.dispose();
+        }
+    }
+
+    private Scheduler virtualThreads() {
+        if (virtualThreads == null) {
+            virtualThreads = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "sca-virtual");
+        }
+        return virtualThreads;
+    }
+}
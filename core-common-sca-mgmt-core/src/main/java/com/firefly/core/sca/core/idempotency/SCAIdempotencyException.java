@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.idempotency;
+
+/**
+ * Raised when a request cannot be executed or replayed under its Idempotency-Key.
+ */
+public class SCAIdempotencyException extends RuntimeException {
+
+    public enum Reason {
+        INVALID_KEY,   // blank or longer than sca.idempotency.max-key-length
+        KEY_REUSED,    // the key was first used for a request with a different body
+        IN_PROGRESS,   // the request holding the key did not complete within the await timeout
+        INCOMPLETE     // the stored response lacks fields that are never stored, such as challenge codes
+    }
+
+    private final Reason reason;
+
+    public SCAIdempotencyException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
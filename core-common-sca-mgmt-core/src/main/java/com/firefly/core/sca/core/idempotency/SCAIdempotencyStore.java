@@ -0,0 +1,286 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.idempotency;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeHasher;
+import com.firefly.core.sca.core.config.SCAIdempotencyProperties;
+import com.firefly.core.sca.models.entities.SCAIdempotencyKey;
+import com.firefly.core.sca.models.repositories.SCAIdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Executes a create request at most once per Idempotency-Key and answers retries with the
+ * original response.
+ * <p>
+ * Keys are claimed in the sca_idempotency_key table, which holds the response once the request
+ * completes. A request that finds its key claimed waits for the holder: on the same node it
+ * subscribes to the holder's in-flight result through the near-cache, on another node it polls
+ * the table. A request that fails releases its key, so a retry executes again. A claim whose
+ * node died is taken over once its lease runs out.
+ * <p>
+ * Fields such as challenge codes are never written to the table. They enter the request hash as
+ * keyed digests (see SCAChallengeCodeHasher), so a retry with a different code is still told apart,
+ * and a response that carried them can only be replayed from the near-cache.
+ */
+@Slf4j
+@Component
+public class SCAIdempotencyStore {
+
+    private final SCAIdempotencyKeyRepository repository;
+    private final SCAIdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final SCAChallengeCodeHasher codeHasher;
+    private final Cache<String, Entry> nearCache;
+
+    private final Counter executed;
+    private final Counter nearCacheReplays;
+    private final Counter tableReplays;
+
+    public SCAIdempotencyStore(SCAIdempotencyKeyRepository repository,
+                               SCAIdempotencyProperties properties,
+                               ObjectMapper objectMapper,
+                               SCAChallengeCodeHasher codeHasher,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.codeHasher = codeHasher;
+        Duration nearCacheTtl = properties.getNearCache().getExpireAfterWrite();
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNearCache().getMaximumSize())
+                .expireAfterWrite(nearCacheTtl.compareTo(properties.getTtl()) < 0 ? nearCacheTtl : properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "sca.idempotency.near");
+        this.executed = requests(meterRegistry, "executed", "none");
+        this.nearCacheReplays = requests(meterRegistry, "replayed", "near-cache");
+        this.tableReplays = requests(meterRegistry, "replayed", "table");
+    }
+
+    /**
+     * Runs the action once for the scope and key, or replays its response. Without a key the action
+     * simply runs.
+     *
+     * @param scope          the endpoint and parent resource, so equal keys on different endpoints do not collide
+     * @param request        the request body; a key reused with a different one is rejected
+     * @param unstoredFields JSON pointers of fields kept out of the key table, such as challenge
+     *                       codes, which are only stored as digests. The request hash covers their
+     *                       keyed digest. A response that carried them is replayed from the
+     *                       near-cache only; from the table it fails as INCOMPLETE
+     */
+    public <T> Mono<SCAIdempotentResponse<T>> execute(String scope, String key, Object request, Class<T> type,
+                                                      List<String> unstoredFields, Supplier<Mono<T>> action) {
+        if (!properties.isEnabled() || key == null) {
+            return action.get().map(body -> new SCAIdempotentResponse<>(body, false));
+        }
+        return Mono.defer(() -> {
+            if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+                return Mono.error(new SCAIdempotencyException(SCAIdempotencyException.Reason.INVALID_KEY,
+                        "Idempotency-Key must have 1 to " + properties.getMaxKeyLength() + " characters"));
+            }
+            String id = scope + ":" + key;
+            Call<T> call = new Call<>(id, hash(id, request, unstoredFields), type, unstoredFields, action);
+            Entry fresh = new Entry(call);
+            Entry existing = nearCache.asMap().putIfAbsent(id, fresh);
+            if (existing == null) {
+                return fresh.result.map(response -> cast(response, type));
+            }
+            if (!existing.requestHash.equals(call.requestHash())) {
+                return Mono.error(keyReused());
+            }
+            return existing.result
+                    .map(response -> cast(response, type).asReplay())
+                    .doOnNext(response -> nearCacheReplays.increment());
+        });
+    }
+
+    private <T> Mono<SCAIdempotentResponse<T>> attempt(Call<T> call, long deadline) {
+        UUID claimToken = UUID.randomUUID();
+        return repository.claim(call.id(), call.requestHash(), claimToken,
+                        properties.getLease().toMillis(), properties.getTtl().toMillis())
+                .hasElement()
+                .flatMap(claimed -> claimed ? executeClaimed(call, claimToken) : replayStored(call, deadline));
+    }
+
+    private <T> Mono<SCAIdempotentResponse<T>> executeClaimed(Call<T> call, UUID claimToken) {
+        return call.action().get()
+                .onErrorResume(e -> release(call, claimToken).then(Mono.error(e)))
+                .switchIfEmpty(Mono.defer(() -> release(call, claimToken).then(Mono.empty())))
+                .flatMap(body -> Mono.fromCallable(() -> stored(body, call.unstoredFields()))
+                        .flatMap(responseBody -> repository.complete(call.id(), claimToken, responseBody))
+                        .doOnNext(completed -> {
+                            if (completed == 0) {
+                                log.warn("Idempotency key {} was taken over before its response was stored", call.id());
+                            }
+                        })
+                        // the resource exists either way, so a failed write only costs later replays
+                        .onErrorResume(e -> {
+                            log.warn("Could not store the response of idempotency key {}", call.id(), e);
+                            return Mono.empty();
+                        })
+                        .thenReturn(new SCAIdempotentResponse<>(body, false)))
+                .doOnNext(response -> executed.increment());
+    }
+
+    /**
+     * Answers with the stored response once the holder of the key has completed, claiming the key
+     * again in the meantime in case the holder released it or its lease ran out.
+     */
+    private <T> Mono<SCAIdempotentResponse<T>> replayStored(Call<T> call, long deadline) {
+        return repository.findById(call.id())
+                .filter(stored -> stored.getResponseBody() != null || !stored.getRequestHash().equals(call.requestHash()))
+                .flatMap(stored -> replay(stored, call))
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (System.nanoTime() - deadline >= 0) {
+                        return Mono.error(new SCAIdempotencyException(SCAIdempotencyException.Reason.IN_PROGRESS,
+                                "A request with this Idempotency-Key is still in progress"));
+                    }
+                    return Mono.delay(properties.getPollInterval()).then(attempt(call, deadline));
+                }));
+    }
+
+    private <T> Mono<SCAIdempotentResponse<T>> replay(SCAIdempotencyKey stored, Call<T> call) {
+        if (!stored.getRequestHash().equals(call.requestHash())) {
+            return Mono.error(keyReused());
+        }
+        return Mono.fromCallable(() -> objectMapper.readTree(stored.getResponseBody()))
+                .flatMap(body -> {
+                    for (String field : call.unstoredFields()) {
+                        JsonPointer pointer = JsonPointer.compile(field);
+                        if (body.at(pointer.head()).isObject() && body.at(pointer).isMissingNode()) {
+                            return Mono.<T>error(new SCAIdempotencyException(SCAIdempotencyException.Reason.INCOMPLETE,
+                                    "The original response held a challenge code, which is not kept for replays"));
+                        }
+                    }
+                    return Mono.fromCallable(() -> objectMapper.treeToValue(body, call.type()));
+                })
+                .map(body -> new SCAIdempotentResponse<>(body, true))
+                .doOnNext(response -> tableReplays.increment());
+    }
+
+    private Mono<Void> release(Call<?> call, UUID claimToken) {
+        return repository.release(call.id(), claimToken)
+                .onErrorResume(e -> {
+                    log.warn("Could not release idempotency key {}, it is retried after its lease", call.id(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * The response without the unstored fields that have a value; null ones are kept, so a missing
+     * field tells a replay that it was removed.
+     */
+    private String stored(Object body, List<String> unstoredFields) throws JsonProcessingException {
+        JsonNode tree = objectMapper.valueToTree(body);
+        for (String field : unstoredFields) {
+            JsonPointer pointer = JsonPointer.compile(field);
+            if (tree.at(pointer.head()) instanceof ObjectNode parent && !tree.at(pointer).isNull()) {
+                parent.remove(pointer.last().getMatchingProperty());
+            }
+        }
+        return objectMapper.writeValueAsString(tree);
+    }
+
+    /**
+     * Hashes the request with its unstored fields replaced by keyed digests, salted with the key ID.
+     */
+    private String hash(String id, Object request, List<String> unstoredFields) {
+        JsonNode tree = objectMapper.valueToTree(request);
+        UUID salt = UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8));
+        for (String field : unstoredFields) {
+            JsonPointer pointer = JsonPointer.compile(field);
+            if (tree.at(pointer.head()) instanceof ObjectNode parent && tree.at(pointer).isTextual()) {
+                parent.put(pointer.last().getMatchingProperty(), codeHasher.hash(salt, tree.at(pointer).asText()));
+            }
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(tree);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the request body", e);
+        }
+    }
+
+    private static SCAIdempotencyException keyReused() {
+        return new SCAIdempotencyException(SCAIdempotencyException.Reason.KEY_REUSED,
+                "Idempotency-Key was already used for a different request");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SCAIdempotentResponse<T> cast(SCAIdempotentResponse<?> response, Class<T> type) {
+        type.cast(response.body());
+        return (SCAIdempotentResponse<T>) response;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome, String source) {
+        return Counter.builder("sca.idempotency.requests")
+                .description("Create requests carrying an Idempotency-Key")
+                .tag("outcome", outcome)
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record Call<T>(String id, String requestHash, Class<T> type, List<String> unstoredFields,
+                           Supplier<Mono<T>> action) {
+    }
+
+    /**
+     * Near-cache entry: the shared result of the first request seen with a key on this node.
+     * Failed and empty results are removed, so the next request executes again.
+     */
+    private final class Entry {
+
+        private final String requestHash;
+        private final Mono<SCAIdempotentResponse<?>> result;
+
+        private Entry(Call<?> call) {
+            this.requestHash = call.requestHash();
+            this.result = Mono.defer(() -> attempt(call, System.nanoTime() + properties.getAwaitTimeout().toNanos()))
+                    .<SCAIdempotentResponse<?>>map(response -> response)
+                    .doOnError(e -> nearCache.asMap().remove(call.id(), this))
+                    .doOnSuccess(response -> {
+                        if (response == null) {
+                            nearCache.asMap().remove(call.id(), this);
+                        }
+                    })
+                    .cache();
+        }
+    }
+}
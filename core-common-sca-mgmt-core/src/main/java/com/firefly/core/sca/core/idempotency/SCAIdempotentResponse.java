@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.idempotency;
+
+/**
+ * Response of a request executed under an Idempotency-Key.
+ *
+ * @param body     the response
+ * @param replayed whether it was produced by an earlier request with the same key
+ */
+public record SCAIdempotentResponse<T>(T body, boolean replayed) {
+
+    SCAIdempotentResponse<T> asReplay() {
+        return replayed ? this : new SCAIdempotentResponse<>(body, true);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.jobs;
+
+import com.firefly.core.sca.core.await.SCAStatusWaiters;
+import com.firefly.core.sca.core.cache.SCASingleFlight;
+import com.firefly.core.sca.core.config.SCAExpiryProperties;
+import com.firefly.core.sca.models.projections.SCAExpiredOperation;
+import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import com.firefly.core.sca.models.repositories.SCAIdempotencyKeyRepository;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Moves PENDING operations past their expires_at to EXPIRED, retires expired challenges and
+ * purges expired idempotency keys, in bounded chunks. Chunks lock rows with FOR UPDATE SKIP
+ * LOCKED, so every node can run the sweeper concurrently without blocking each other or in-flight
+ * validations. Requests awaiting a status change of an expired operation on this node are woken.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sca.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SCAExpirySweeper {
+
+    private final SCAOperationRepository operationRepository;
+    private final SCAChallengeRepository challengeRepository;
+    private final SCAIdempotencyKeyRepository idempotencyKeyRepository;
+    private final SCAExpiryProperties properties;
+    private final SCASingleFlight singleFlight;
+    private final SCAStatusWaiters statusWaiters;
+
+    private final Counter expiredOperations;
+    private final Counter retiredChallenges;
+    private final Counter purgedIdempotencyKeys;
+    private final Timer chunkTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public SCAExpirySweeper(SCAOperationRepository operationRepository,
+                            SCAChallengeRepository challengeRepository,
+                            SCAIdempotencyKeyRepository idempotencyKeyRepository,
+                            SCAExpiryProperties properties,
+                            SCASingleFlight singleFlight,
+                            SCAStatusWaiters statusWaiters,
+                            MeterRegistry meterRegistry) {
+        this.operationRepository = operationRepository;
+        this.challengeRepository = challengeRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = properties;
+        this.singleFlight = singleFlight;
+        this.statusWaiters = statusWaiters;
+        this.expiredOperations = Counter.builder("sca.expiry.operations.expired").register(meterRegistry);
+        this.retiredChallenges = Counter.builder("sca.expiry.challenges.retired").register(meterRegistry);
+        this.purgedIdempotencyKeys = Counter.builder("sca.expiry.idempotency-keys.purged").register(meterRegistry);
+        this.chunkTimer = Timer.builder("sca.expiry.chunk")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("sca.expiry.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest expired operation handled by the last chunk")
+                .register(meterRegistry);
+        Gauge.builder("sca.expiry.chunk.size", properties, SCAExpiryProperties::getChunkSize)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${sca.expiry.interval:PT30S}")
+    public Mono<Void> sweep() {
+        return sweepChunks(this::expireOperationChunk)
+                .then(sweepChunks(this::retireChallengeChunk))
+                .then(sweepChunks(this::purgeIdempotencyKeyChunk))
+                .onErrorResume(e -> {
+                    log.warn("SCA expiry sweep failed", e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Runs chunks until one comes back short or the per-run limit is reached.
+     */
+    private Mono<Void> sweepChunks(Supplier<Mono<Integer>> chunk) {
+        return Flux.range(0, properties.getMaxChunksPerRun())
+                .concatMap(i -> chunk.get())
+                .takeUntil(handled -> handled < properties.getChunkSize())
+                .then();
+    }
+
+    private Mono<Integer> expireOperationChunk() {
+        long start = System.nanoTime();
+        return operationRepository.expirePendingOperations(properties.getChunkSize())
+                .collectList()
+                .doOnNext(expired -> {
+                    chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    expiredOperations.increment(expired.size());
+                    lagMillis.set(lagOf(expired));
+                    expired.forEach(operation -> {
+                        singleFlight.forget(SCASingleFlight.Group.OPERATION, operation.getId());
+                        statusWaiters.signal(operation.getId());
+                    });
+                })
+                .map(List::size);
+    }
+
+    private Mono<Integer> retireChallengeChunk() {
+        return challengeRepository.retireExpiredChallenges(properties.getChunkSize())
+                .doOnNext(retiredChallenges::increment)
+                .map(Long::intValue);
+    }
+
+    private Mono<Integer> purgeIdempotencyKeyChunk() {
+        return idempotencyKeyRepository.purgeExpired(properties.getChunkSize())
+                .doOnNext(purgedIdempotencyKeys::increment)
+                .map(Long::intValue);
+    }
+
+    private static long lagOf(List<SCAExpiredOperation> expired) {
+        return expired.stream()
+                .map(SCAExpiredOperation::getExpiresAt)
+                .min(Comparator.naturalOrder())
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.jobs;
+
+import com.firefly.core.sca.core.config.SCAPartitioningProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of sca_audit and sca_operation_history in shape:
+ * creates the upcoming partitions ahead of time and detaches (or drops) the ones
+ * past the configured retention. Runs in one transaction under an advisory lock, so when every
+ * node fires at the same time only one of them does the work and the others skip the run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sca.partitioning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SCAPartitionMaintenanceJob {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("sca_audit", "sca_operation_history");
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("^(sca_[a-z_]+)_p(\\d{6})$");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private SCAPartitioningProperties properties;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions().subscribe();
+    }
+
+    @Scheduled(cron = "${sca.partitioning.cron:0 0 3 * * *}")
+    public Mono<Void> maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        Mono<Void> maintenance = Flux.fromIterable(PARTITIONED_TABLES)
+                .concatMap(table -> createUpcomingPartitions(table, current)
+                        .then(applyRetention(table, current)))
+                .then();
+        return databaseClient.sql("SELECT pg_try_advisory_xact_lock(hashtext('sca_partition_maintenance'))")
+                .map(row -> row.get(0, Boolean.class))
+                .one()
+                .flatMap(locked -> {
+                    if (!locked) {
+                        log.debug("SCA partition maintenance is running on another node, skipping");
+                        return Mono.empty();
+                    }
+                    return maintenance;
+                })
+                .as(transactionalOperator::transactional)
+                .onErrorResume(e -> {
+                    log.warn("SCA partition maintenance failed", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> createUpcomingPartitions(String table, YearMonth current) {
+        return Flux.range(0, properties.getPremakeMonths() + 1)
+                .map(current::plusMonths)
+                .concatMap(month -> databaseClient.sql("SELECT sca_create_monthly_partition(:parent, :monthStart)")
+                        .bind("parent", table)
+                        .bind("monthStart", month.atDay(1))
+                        .map(row -> row.get(0, String.class))
+                        .one())
+                .then();
+    }
+
+    private Mono<Void> applyRetention(String table, YearMonth current) {
+        if (properties.getRetentionMonths() <= 0) {
+            return Mono.empty();
+        }
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+        return databaseClient.sql("""
+                        SELECT child.relname
+                          FROM pg_inherits i
+                          JOIN pg_class child  ON child.oid  = i.inhrelid
+                          JOIN pg_class parent ON parent.oid = i.inhparent
+                         WHERE parent.relname = :parent
+                        """)
+                .bind("parent", table)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .filter(name -> isOlderThan(name, table, oldestKept))
+                .concatMap(name -> retire(table, name))
+                .then();
+    }
+
+    private Mono<Void> retire(String table, String partition) {
+        // Identifiers cannot be bound; both names come from the catalog and match PARTITION_NAME
+        Mono<Void> detach = databaseClient.sql("ALTER TABLE " + table + " DETACH PARTITION " + partition)
+                .then();
+        Mono<Void> retired = properties.getRetentionAction() == SCAPartitioningProperties.RetentionAction.DROP
+                ? detach.then(databaseClient.sql("DROP TABLE " + partition).then())
+                : detach;
+        return retired.doOnSuccess(v -> log.info("Retired partition {} of {} ({})",
+                partition, table, properties.getRetentionAction()));
+    }
+
+    private static boolean isOlderThan(String partition, String table, YearMonth oldestKept) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches() || !matcher.group(1).equals(table)) {
+            return false; // e.g. the DEFAULT partition
+        }
+        return YearMonth.parse(matcher.group(2), PARTITION_SUFFIX).isBefore(oldestKept);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times Mono and Flux returning methods from subscription to termination, which is when the
+ * work actually happens. Tags are the owning interface, the method name and the outcome, so
+ * cardinality is bounded by the interface; arguments never become tags.
+ * <p>
+ * The timers of a method are resolved once and cached, keeping the per-call cost to two
+ * nanoTime reads and a histogram update.
+ */
+class ReactiveMethodTimer implements MethodInterceptor {
+
+    private final String metricName;
+    private final String ownerTag;
+    private final String owner;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    ReactiveMethodTimer(String metricName, String ownerTag, String owner, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.metricName = metricName;
+        this.ownerTag = ownerTag;
+        this.owner = owner;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> returnType = method.getReturnType();
+        if (returnType != Mono.class && returnType != Flux.class) {
+            return invocation.proceed();
+        }
+        Object result = invocation.proceed();
+        MethodTimers methodTimers = timers.computeIfAbsent(method, this::register);
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return mono.doFinally(signal -> methodTimers.record(signal, start));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return flux.doFinally(signal -> methodTimers.record(signal, start));
+            });
+        }
+        return result;
+    }
+
+    private MethodTimers register(Method method) {
+        MeterRegistry registry = meterRegistry.getObject();
+        return new MethodTimers(
+                timer(registry, method, "success"),
+                timer(registry, method, "error"),
+                timer(registry, method, "cancelled"));
+    }
+
+    private Timer timer(MeterRegistry registry, Method method, String outcome) {
+        return Timer.builder(metricName)
+                .tag(ownerTag, owner)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record MethodTimers(Timer success, Timer error, Timer cancelled) {
+
+        void record(SignalType signal, long start) {
+            Timer timer = switch (signal) {
+                case ON_ERROR -> error;
+                case CANCEL -> cancelled;
+                default -> success;
+            };
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
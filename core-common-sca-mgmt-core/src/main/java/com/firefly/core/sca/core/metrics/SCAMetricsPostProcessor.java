@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.metrics;
+
+import com.firefly.core.sca.core.config.SCAMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps the SCA services, the SCA repositories and the R2DBC connection factory with timers:
+ * <ul>
+ *   <li>{@code sca.service{service, method, outcome}} for every reactive service method,</li>
+ *   <li>{@code sca.repository{repository, method, outcome}} for every reactive repository method,
+ *   measured until the query completes,</li>
+ *   <li>{@code sca.r2dbc.acquire{outcome}} for connection acquisition.</li>
+ * </ul>
+ * Runs after the other post-processors, so the timing includes the transaction advice.
+ */
+@Component
+public class SCAMetricsPostProcessor implements BeanPostProcessor, BeanClassLoaderAware, Ordered {
+
+    private static final String SERVICES_PACKAGE = "com.firefly.core.sca.core.services";
+    private static final String REPOSITORIES_PACKAGE = "com.firefly.core.sca.models.repositories";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<SCAMetricsProperties> properties;
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    public SCAMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                   ObjectProvider<SCAMetricsProperties> properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ConnectionFactory connectionFactory) {
+            return properties.getObject().isConnections() && !(bean instanceof TimedConnectionFactory)
+                    ? new TimedConnectionFactory(connectionFactory, meterRegistry.getObject())
+                    : bean;
+        }
+        Class<?> service = interfaceIn(bean, SERVICES_PACKAGE);
+        if (service != null && properties.getObject().isServices()) {
+            return timed(bean, service, "sca.service", "service");
+        }
+        Class<?> repository = interfaceIn(bean, REPOSITORIES_PACKAGE);
+        if (repository != null && properties.getObject().isRepositories()) {
+            return timed(bean, repository, "sca.repository", "repository");
+        }
+        return bean;
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private Object timed(Object bean, Class<?> type, String metricName, String ownerTag) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.addInterface(type);
+        proxyFactory.addAdvice(new ReactiveMethodTimer(metricName, ownerTag, type.getSimpleName(), meterRegistry));
+        return proxyFactory.getProxy(classLoader);
+    }
+
+    /**
+     * The interface the bean is exposed as, if it is one of ours. Works for plain beans as well as
+     * for transactional and repository proxies, which implement the interface themselves.
+     */
+    private static Class<?> interfaceIn(Object bean, String packageName) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(bean.getClass())) {
+            if (candidate.getPackageName().equals(packageName)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.metrics;
+
+import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes {@code sca.operations.pending} and {@code sca.challenges.active}. Counting on every
+ * scrape would block the scraping thread on the database, so the counts are refreshed in the
+ * background and the gauges only read the last values.
+ */
+@Slf4j
+@Component
+public class SCAStateGauges {
+
+    private final SCAOperationRepository operationRepository;
+    private final SCAChallengeRepository challengeRepository;
+
+    private final AtomicLong pendingOperations = new AtomicLong();
+    private final AtomicLong activeChallenges = new AtomicLong();
+
+    public SCAStateGauges(SCAOperationRepository operationRepository,
+                          SCAChallengeRepository challengeRepository,
+                          MeterRegistry meterRegistry) {
+        this.operationRepository = operationRepository;
+        this.challengeRepository = challengeRepository;
+        Gauge.builder("sca.operations.pending", pendingOperations, AtomicLong::get)
+                .description("Operations waiting for a code, as of the last refresh")
+                .register(meterRegistry);
+        Gauge.builder("sca.challenges.active", activeChallenges, AtomicLong::get)
+                .description("Unused, unexpired challenges, as of the last refresh")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${sca.metrics.gauge-interval:PT30S}")
+    public Mono<Void> refresh() {
+        return operationRepository.countPending()
+                .doOnNext(pendingOperations::set)
+                .then(challengeRepository.countActive())
+                .doOnNext(activeChallenges::set)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("SCA state gauge refresh failed", e);
+                    return Mono.empty();
+                });
+    }
+}
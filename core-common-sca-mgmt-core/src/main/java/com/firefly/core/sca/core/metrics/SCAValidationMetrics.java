@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.metrics;
+
+import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts validation results as {@code sca.validation.outcomes{flow, category, operation_type}}.
+ * <p>
+ * Every tag comes from a closed set: the category is derived from the ValidationResultDTO message
+ * and unknown messages fall into OTHER, so a reworded message can never create new series.
+ * All counters are registered up front, which also exports zero-valued series from startup.
+ */
+@Component
+public class SCAValidationMetrics {
+
+    /**
+     * Which endpoint produced the result.
+     */
+    public enum Flow {
+        OPERATION,
+        CHALLENGE
+    }
+
+    public enum Category {
+        VERIFIED,
+        INVALID_CODE,
+        LOCKED,
+        THROTTLED,
+        EXPIRED,
+        ALREADY_USED,
+        NO_ACTIVE_CHALLENGE,
+        INVALID_STATE,
+        NOT_FOUND,
+        OTHER;
+
+        private static final Map<String, Category> BY_MESSAGE = Map.of(
+                "Challenge successfully validated", VERIFIED,
+                "Invalid challenge code", INVALID_CODE,
+                "Maximum number of attempts exceeded", LOCKED,
+                "Too many validation attempts", THROTTLED,
+                "Challenge has expired", EXPIRED,
+                "Challenge already used", ALREADY_USED,
+                "No active challenge found for this operation", NO_ACTIVE_CHALLENGE,
+                "SCA Operation not in a valid state for validation", INVALID_STATE,
+                "Challenge not found", NOT_FOUND);
+
+        public static Category of(ValidationResultDTO result) {
+            return BY_MESSAGE.getOrDefault(result.getMessage(), OTHER);
+        }
+    }
+
+    private static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private final Map<Flow, Map<Category, Counter[]>> counters = new EnumMap<>(Flow.class);
+
+    public SCAValidationMetrics(MeterRegistry meterRegistry) {
+        SCAOperationTypeEnum[] types = SCAOperationTypeEnum.values();
+        for (Flow flow : Flow.values()) {
+            Map<Category, Counter[]> byCategory = new EnumMap<>(Category.class);
+            for (Category category : Category.values()) {
+                Counter[] byType = new Counter[types.length + 1];
+                for (SCAOperationTypeEnum type : types) {
+                    byType[type.ordinal()] = counter(meterRegistry, flow, category, type.name());
+                }
+                byType[types.length] = counter(meterRegistry, flow, category, UNKNOWN_TYPE);
+                byCategory.put(category, byType);
+            }
+            counters.put(flow, byCategory);
+        }
+    }
+
+    /**
+     * Counts a result. The operation type is null when the flow did not load the operation,
+     * e.g. for attempts rejected by the attempt limiter.
+     */
+    public void record(Flow flow, ValidationResultDTO result, SCAOperationTypeEnum operationType) {
+        record(flow, Category.of(result), operationType);
+    }
+
+    public void record(Flow flow, Category category, SCAOperationTypeEnum operationType) {
+        Counter[] byType = counters.get(flow).get(category);
+        byType[operationType == null ? byType.length - 1 : operationType.ordinal()].increment();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Flow flow, Category category, String operationType) {
+        return Counter.builder("sca.validation.outcomes")
+                .description("SCA validation results by category and operation type")
+                .tag("flow", flow.name())
+                .tag("category", category.name())
+                .tag("operation_type", operationType)
+                .register(meterRegistry);
+    }
+}
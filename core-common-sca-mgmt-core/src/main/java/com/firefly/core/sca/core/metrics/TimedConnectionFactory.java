@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.metrics;
+
+import com.firefly.core.sca.core.diagnostics.SCAConnectionAcquireEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long callers wait for a connection. With a pooled factory this is the pool
+ * acquisition time, which grows long before queries themselves slow down when the pool is
+ * too small. Each acquisition is also emitted as a JFR event while a recording is running.
+ * The delegate stays reachable through {@link Wrapped}, so the pool gauges that
+ * Spring Boot registers for the underlying ConnectionPool keep working, and disposing the
+ * wrapper disposes the pool.
+ */
+class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private final ConnectionFactory delegate;
+    private final Timer acquired;
+    private final Timer failed;
+
+    TimedConnectionFactory(ConnectionFactory delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.acquired = timer(meterRegistry, "success");
+        this.failed = timer(meterRegistry, "error");
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            SCAConnectionAcquireEvent event = SCAConnectionAcquireEvent.start();
+            return Mono.from(delegate.create())
+                    .doOnSuccess(connection -> {
+                        acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        if (event != null) {
+                            event.finish(true);
+                        }
+                    })
+                    .doOnError(e -> {
+                        failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        if (event != null) {
+                            event.finish(false);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("sca.r2dbc.acquire")
+                .description("Time spent waiting for an R2DBC connection")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
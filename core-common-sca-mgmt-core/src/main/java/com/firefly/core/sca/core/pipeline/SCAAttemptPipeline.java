@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.sca.core.config.SCAPipelineProperties;
+import com.firefly.core.sca.models.entities.SCAAttempt;
+import com.firefly.core.sca.models.repositories.SCAAttemptRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Write-behind pipeline for sca_attempt rows, flushed as unnest-based multi-row inserts.
+ */
+@Component
+public class SCAAttemptPipeline extends WriteBehindPipeline<SCAAttempt> {
+
+    private final SCAAttemptRepository repository;
+
+    public SCAAttemptPipeline(SCAAttemptRepository repository,
+                              SCAPipelineProperties properties,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        super("attempt", SCAAttempt.class, properties.getAttempt(), objectMapper, meterRegistry);
+        this.repository = repository;
+    }
+
+    @Override
+    protected Mono<Long> writeBatch(List<SCAAttempt> batch) {
+        int size = batch.size();
+        UUID[] ids = new UUID[size];
+        UUID[] challengeIds = new UUID[size];
+        String[] attemptValues = new String[size];
+        LocalDateTime[] attemptedAts = new LocalDateTime[size];
+        Boolean[] successes = new Boolean[size];
+        String[] ipAddresses = new String[size];
+        for (int i = 0; i < size; i++) {
+            SCAAttempt attempt = batch.get(i);
+            ids[i] = attempt.getId();
+            challengeIds[i] = attempt.getScaChallengeId();
+            attemptValues[i] = attempt.getAttemptValue();
+            attemptedAts[i] = attempt.getAttemptedAt();
+            successes[i] = attempt.getSuccess();
+            ipAddresses[i] = attempt.getIpAddress();
+        }
+        return repository.insertAll(ids, challengeIds, attemptValues, attemptedAts, successes, ipAddresses);
+    }
+}
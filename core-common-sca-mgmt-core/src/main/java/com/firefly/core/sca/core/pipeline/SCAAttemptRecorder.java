@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.pipeline;
+
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeHasher;
+import com.firefly.core.sca.models.entities.SCAAttempt;
+import com.firefly.core.sca.models.repositories.SCAAttemptRepository;
+import com.firefly.core.sca.models.utils.UUIDv7Generator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Records the code comparisons made by the validation flows as sca_attempt rows.
+ * <p>
+ * The entered value is never stored in clear. With a hashing key it is stored as the keyed
+ * digest of SCAChallengeCodeHasher over the challenge ID, so a row can neither be brute-forced
+ * offline nor compared with the stored code, which is keyed by the operation ID. Without a key it
+ * falls back to a SHA-256 digest salted with the challenge ID. Rows go through the attempt
+ * write-behind pipeline when it is enabled, otherwise they are inserted directly.
+ */
+@Component
+public class SCAAttemptRecorder {
+
+    private static final String HASH_PREFIX = "sha256:";
+
+    private final SCAAttemptPipeline pipeline;
+    private final SCAAttemptRepository repository;
+    private final SCAChallengeCodeHasher codeHasher;
+
+    public SCAAttemptRecorder(SCAAttemptPipeline pipeline, SCAAttemptRepository repository,
+                              SCAChallengeCodeHasher codeHasher) {
+        this.pipeline = pipeline;
+        this.repository = repository;
+        this.codeHasher = codeHasher;
+    }
+
+    public Mono<Void> record(UUID challengeId, String attemptValue, boolean success, String ipAddress) {
+        return Mono.defer(() -> {
+            SCAAttempt attempt = new SCAAttempt();
+            attempt.setScaChallengeId(challengeId);
+            attempt.setAttemptValue(codeHasher.isEnabled()
+                    ? codeHasher.hash(challengeId, attemptValue != null ? attemptValue : "")
+                    : hash(challengeId, attemptValue));
+            attempt.setAttemptedAt(LocalDateTime.now());
+            attempt.setSuccess(success);
+            attempt.setIpAddress(ipAddress);
+            if (pipeline.isEnabled()) {
+                attempt.setId(UUIDv7Generator.next());
+                return pipeline.submit(attempt);
+            }
+            return repository.save(attempt).then();
+        });
+    }
+
+    /**
+     * Writes the attempts still buffered, e.g. before their challenge is deleted, so they are
+     * removed with it instead of failing its foreign key later. A flush already running is not
+     * awaited; its rows for a deleted challenge are rejected one by one by the pipeline.
+     */
+    public Mono<Void> flush() {
+        return pipeline.isEnabled() ? pipeline.flush() : Mono.empty();
+    }
+
+    static String hash(UUID challengeId, String attemptValue) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(challengeId.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            if (attemptValue != null) {
+                digest.update(attemptValue.getBytes(StandardCharsets.UTF_8));
+            }
+            return HASH_PREFIX + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
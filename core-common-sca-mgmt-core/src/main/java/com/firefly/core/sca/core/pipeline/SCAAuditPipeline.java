@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.sca.core.config.SCAPipelineProperties;
+import com.firefly.core.sca.models.entities.SCAAudit;
+import com.firefly.core.sca.models.repositories.SCAAuditRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Write-behind pipeline for sca_audit rows, flushed as unnest-based multi-row inserts.
+ */
+@Component
+public class SCAAuditPipeline extends WriteBehindPipeline<SCAAudit> {
+
+    private final SCAAuditRepository repository;
+
+    public SCAAuditPipeline(SCAAuditRepository repository,
+                            SCAPipelineProperties properties,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        super("audit", SCAAudit.class, properties.getAudit(), objectMapper, meterRegistry);
+        this.repository = repository;
+    }
+
+    @Override
+    protected Mono<Long> writeBatch(List<SCAAudit> batch) {
+        int size = batch.size();
+        UUID[] ids = new UUID[size];
+        UUID[] operationIds = new UUID[size];
+        UUID[] challengeIds = new UUID[size];
+        String[] partyIds = new String[size];
+        String[] eventTypes = new String[size];
+        LocalDateTime[] eventTimes = new LocalDateTime[size];
+        String[] details = new String[size];
+        for (int i = 0; i < size; i++) {
+            SCAAudit audit = batch.get(i);
+            ids[i] = audit.getId();
+            operationIds[i] = audit.getScaOperationId();
+            challengeIds[i] = audit.getScaChallengeId();
+            partyIds[i] = audit.getPartyId();
+            eventTypes[i] = audit.getEventType() != null ? audit.getEventType().name() : null;
+            eventTimes[i] = audit.getEventTime();
+            details[i] = audit.getDetails();
+        }
+        return repository.insertAll(ids, operationIds, challengeIds, partyIds, eventTypes, eventTimes, details);
+    }
+}
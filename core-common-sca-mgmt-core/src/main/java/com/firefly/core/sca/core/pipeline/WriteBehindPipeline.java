@@ -0,0 +1,541 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.sca.core.config.SCAPipelineProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.R2dbcNonTransientException;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded, non-blocking write-behind buffer that persists records as multi-row batches.
+ * <p>
+ * Records are flushed when a full batch is waiting or when the flush interval elapses.
+ * A full buffer is handled by the configured overflow policy. When a batch fails, its records
+ * are retried one by one: records the database rejects (constraint violations, bad values) are
+ * counted and moved to a dead-letter file next to the spool, so they cannot block the rest.
+ * Records that cannot be written because the database is unavailable are appended to the local
+ * spool file and replayed later, or kept in the buffer when spooling is off. While the database
+ * is down, each tick replays a single spooled record as a probe, so an idle node still notices
+ * when it is back. Spool files hold audit rows and client addresses; they are readable by the
+ * owner only.
+ * <p>
+ * With FLUSH_BEFORE_ACK durability a submit completes only once its record is written, and
+ * submitting starts a flush right away; callers arriving during a flush share the next batch.
+ */
+@Slf4j
+public abstract class WriteBehindPipeline<T> implements InitializingBean, DisposableBean {
+
+    private final String name;
+    private final Class<T> type;
+    private final SCAPipelineProperties.WriteBehind properties;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<Entry<T>> queue;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final Object spoolLock = new Object();
+    private volatile boolean lastFlushFailed;
+    private Disposable ticker;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter spooled;
+    private final Counter dropped;
+    private final Counter rejected;
+
+    protected WriteBehindPipeline(String name,
+                                  Class<T> type,
+                                  SCAPipelineProperties.WriteBehind properties,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.type = type;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+
+        Gauge.builder("sca.pipeline.queue.depth", queue, BlockingQueue::size)
+                .tag("pipeline", name)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("sca.pipeline.flush")
+                .tag("pipeline", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.written = recordCounter(meterRegistry, "written");
+        this.spooled = recordCounter(meterRegistry, "spooled");
+        this.dropped = recordCounter(meterRegistry, "dropped");
+        this.rejected = recordCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Persists the batch with as few statements as possible, returning the number of rows written.
+     */
+    protected abstract Mono<Long> writeBatch(List<T> batch);
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Hands the record over to the pipeline without waiting for the database.
+     * Completes once the record is buffered or has been handled by the overflow policy.
+     */
+    public Mono<Void> submit(T record) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> ack = flushBeforeAck() ? Sinks.empty() : null;
+            if (queue.offer(new Entry<>(record, ack))) {
+                if (ack != null || queue.size() >= properties.getBatchSize()) {
+                    flush().subscribe();
+                }
+                return ack != null ? ack.asMono() : Mono.<Void>empty();
+            }
+            return overflow(record);
+        });
+    }
+
+    /**
+     * Writes the buffered records, batch by batch. Concurrent calls are coalesced.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            if (!flushing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return Mono.defer(this::flushBatch)
+                    .repeat(this::hasPendingBatch)
+                    .then()
+                    .doFinally(signal -> {
+                        flushing.set(false);
+                        // a record submitted while the flag was still set would otherwise wait for the next tick
+                        if (hasPendingBatch()) {
+                            flush().subscribe();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.getSpool().isEnabled()) {
+            String directory = properties.getSpool().getDirectory();
+            if (directory == null || directory.isBlank()) {
+                throw new IllegalStateException("Write-behind pipeline '" + name
+                        + "' spools records but has no spool directory; set a persistent one (SCA_SPOOL_DIR)");
+            }
+            Path temporary = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath();
+            if (spoolDirectory().toAbsolutePath().startsWith(temporary)) {
+                log.warn("Write-behind pipeline '{}' spools to {}, which may not survive a restart",
+                        name, spoolDirectory());
+            }
+        }
+        ticker = Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush()
+                        .then(replaySpool())
+                        .onErrorResume(e -> {
+                            log.warn("Write-behind pipeline '{}' tick failed", name, e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.dispose();
+        Mono.defer(this::flushBatch)
+                .repeat(() -> !queue.isEmpty())
+                .then()
+                .block(properties.getShutdownTimeout());
+        if (!queue.isEmpty()) {
+            List<Entry<T>> remaining = new ArrayList<>(queue.size());
+            queue.drainTo(remaining);
+            spool(records(remaining))
+                    .doOnNext(persisted -> acknowledge(remaining, persisted))
+                    .block(properties.getShutdownTimeout());
+        }
+    }
+
+    private boolean flushBeforeAck() {
+        return properties.getDurability() == SCAPipelineProperties.Durability.FLUSH_BEFORE_ACK;
+    }
+
+    private boolean hasPendingBatch() {
+        if (lastFlushFailed) {
+            return false; // leave retries to the ticker
+        }
+        return queue.size() >= properties.getBatchSize() || (flushBeforeAck() && !queue.isEmpty());
+    }
+
+    private Mono<Void> flushBatch() {
+        List<Entry<T>> entries = new ArrayList<>(properties.getBatchSize());
+        queue.drainTo(entries, properties.getBatchSize());
+        if (entries.isEmpty()) {
+            return Mono.empty();
+        }
+        List<T> batch = records(entries);
+        long start = System.nanoTime();
+        return writeBatch(batch)
+                .doOnSuccess(rows -> {
+                    written.increment(batch.size());
+                    lastFlushFailed = false;
+                    acknowledge(entries, true);
+                })
+                .doFinally(signal -> flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .then()
+                .onErrorResume(e -> {
+                    if (entries.size() == 1) {
+                        return writeFailed(entries, e);
+                    }
+                    log.warn("Write-behind pipeline '{}' failed to write a batch of {} records, retrying them one by one",
+                            name, batch.size(), e);
+                    return writeIndividually(entries);
+                });
+    }
+
+    /**
+     * Writes the records of a failed batch one at a time, so a record the database rejects does
+     * not take the others down with it. Stops at the first failure that is not a rejection.
+     */
+    private Mono<Void> writeIndividually(List<Entry<T>> entries) {
+        List<Entry<T>> unwritten = new ArrayList<>();
+        List<Entry<T>> rejectedEntries = new ArrayList<>();
+        AtomicReference<Throwable> unavailable = new AtomicReference<>();
+        return Flux.fromIterable(entries)
+                .concatMap(entry -> {
+                    if (unavailable.get() != null) {
+                        unwritten.add(entry);
+                        return Mono.empty();
+                    }
+                    return writeBatch(List.of(entry.record()))
+                            .doOnSuccess(rows -> {
+                                written.increment();
+                                acknowledge(List.of(entry), true);
+                            })
+                            .then()
+                            .onErrorResume(e -> {
+                                if (isRejection(e)) {
+                                    rejectedEntries.add(entry);
+                                } else {
+                                    unavailable.set(e);
+                                    unwritten.add(entry);
+                                }
+                                return Mono.empty();
+                            });
+                })
+                .then(Mono.defer(() -> {
+                    Mono<Void> rejections = rejectedEntries.isEmpty()
+                            ? Mono.empty()
+                            : reject(rejectedEntries, new IllegalStateException("Write-behind pipeline '" + name
+                                    + "' had " + rejectedEntries.size() + " records rejected by the database"));
+                    if (unavailable.get() != null) {
+                        return rejections.then(writeFailed(unwritten, unavailable.get()));
+                    }
+                    lastFlushFailed = false;
+                    return rejections;
+                }));
+    }
+
+    /**
+     * Dead-letters rejected records, and spools or requeues the rest until the database is back.
+     */
+    private Mono<Void> writeFailed(List<Entry<T>> entries, Throwable e) {
+        if (isRejection(e)) {
+            return reject(entries, e);
+        }
+        log.warn("Write-behind pipeline '{}' failed to write {} records", name, entries.size(), e);
+        lastFlushFailed = true;
+        if (properties.getSpool().isEnabled()) {
+            return spool(records(entries))
+                    .doOnNext(persisted -> acknowledge(entries, persisted))
+                    .then();
+        }
+        return requeue(entries);
+    }
+
+    /**
+     * Counts records the database will never accept and appends them to the dead-letter file
+     * when spooling is enabled. They are not replayed.
+     */
+    private Mono<Void> reject(List<Entry<T>> entries, Throwable e) {
+        log.error("Write-behind pipeline '{}' rejected {} records the database does not accept", name, entries.size(), e);
+        rejected.increment(entries.size());
+        for (Entry<T> entry : entries) {
+            if (entry.ack() != null) {
+                entry.ack().tryEmitError(e);
+            }
+        }
+        if (!properties.getSpool().isEnabled()) {
+            return Mono.empty();
+        }
+        return append(deadLetterFile(), records(entries))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(failure -> {
+                    log.error("Write-behind pipeline '{}' could not dead-letter {} records", name, entries.size(), failure);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Whether the write failed because of the records themselves rather than the database being
+     * unreachable, so retrying them can never succeed.
+     */
+    private static boolean isRejection(Throwable e) {
+        return (e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException))
+                || (e instanceof R2dbcNonTransientException && !(e instanceof R2dbcNonTransientResourceException));
+    }
+
+    private Mono<Void> overflow(T record) {
+        return switch (properties.getOverflowPolicy()) {
+            case WRITE_THROUGH -> writeBatch(List.of(record))
+                    .doOnSuccess(rows -> written.increment())
+                    .then();
+            case SPOOL -> spool(List.of(record)).then();
+            case DROP -> {
+                dropped.increment();
+                yield Mono.empty();
+            }
+            case REJECT -> Mono.error(new IllegalStateException("Write-behind pipeline '" + name + "' is full"));
+        };
+    }
+
+    private Mono<Void> requeue(List<Entry<T>> entries) {
+        List<Entry<T>> lost = new ArrayList<>();
+        for (Entry<T> entry : entries) {
+            if (!queue.offer(entry)) {
+                lost.add(entry);
+            }
+        }
+        dropped.increment(lost.size());
+        acknowledge(lost, false);
+        return Mono.empty();
+    }
+
+    /**
+     * Appends the records to the spool file, emitting whether they were persisted.
+     */
+    private Mono<Boolean> spool(List<T> records) {
+        if (!properties.getSpool().isEnabled()) {
+            dropped.increment(records.size());
+            return Mono.just(false);
+        }
+        return append(spoolFile(), records)
+                .doOnSuccess(v -> spooled.increment(records.size()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    log.error("Write-behind pipeline '{}' lost {} records, spooling failed", name, records.size(), e);
+                    dropped.increment(records.size());
+                    return Mono.just(false);
+                });
+    }
+
+    private Mono<Void> append(Path file, List<T> records) {
+        return Mono.fromRunnable(() -> {
+            synchronized (spoolLock) {
+                try {
+                    createOwnerOnly(file);
+                    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                            StandardOpenOption.APPEND)) {
+                        for (T record : records) {
+                            writer.write(objectMapper.writeValueAsString(record));
+                            writer.newLine();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates the file and the pipeline's spool directory, if missing, readable by the owner only
+     * where the file system has POSIX permissions.
+     */
+    private static void createOwnerOnly(Path file) throws IOException {
+        boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+        if (!Files.isDirectory(file.getParent())) {
+            Files.createDirectories(file.getParent(), permissions(posix, "rwx------"));
+        }
+        if (!Files.exists(file)) {
+            Files.createFile(file, permissions(posix, "rw-------"));
+        }
+    }
+
+    private static FileAttribute<?>[] permissions(boolean posix, String permissions) {
+        return posix
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(permissions))}
+                : new FileAttribute<?>[0];
+    }
+
+    /**
+     * Moves spooled records back into the buffer while there is room and the database accepts
+     * writes. After a failed write only one record is moved, and the next flush probes the
+     * database with it: it clears the failure once written, or goes back to the spool.
+     */
+    private Mono<Void> replaySpool() {
+        if (!properties.getSpool().isEnabled() || (lastFlushFailed && !queue.isEmpty())) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> {
+                    synchronized (spoolLock) {
+                        Path file = spoolFile();
+                        if (!Files.exists(file)) {
+                            return;
+                        }
+                        int budget = lastFlushFailed ? 1 : queue.remainingCapacity() / 2;
+                        Path rest = file.resolveSibling(file.getFileName() + ".rest");
+                        try {
+                            Files.deleteIfExists(rest);
+                            createOwnerOnly(rest);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                             BufferedWriter writer = Files.newBufferedWriter(rest, StandardCharsets.UTF_8,
+                                     StandardOpenOption.TRUNCATE_EXISTING)) {
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                if (budget > 0) {
+                                    T record = readRecord(line);
+                                    if (record == null) {
+                                        continue;
+                                    }
+                                    if (queue.offer(new Entry<>(record, null))) {
+                                        budget--;
+                                        continue;
+                                    }
+                                }
+                                writer.write(line);
+                                writer.newLine();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        try {
+                            if (Files.size(rest) == 0) {
+                                Files.delete(rest);
+                                Files.delete(file);
+                            } else {
+                                Files.move(rest, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private T readRecord(String line) {
+        try {
+            return objectMapper.readValue(line, type);
+        } catch (IOException e) {
+            log.error("Write-behind pipeline '{}' skipped an unreadable spool entry", name, e);
+            dropped.increment();
+            return null;
+        }
+    }
+
+    private void acknowledge(List<Entry<T>> entries, boolean persisted) {
+        for (Entry<T> entry : entries) {
+            if (entry.ack() == null) {
+                continue;
+            }
+            if (persisted) {
+                entry.ack().tryEmitEmpty();
+            } else {
+                entry.ack().tryEmitError(new IllegalStateException("Write-behind pipeline '" + name + "' lost a record"));
+            }
+        }
+    }
+
+    private static <T> List<T> records(List<Entry<T>> entries) {
+        List<T> records = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            records.add(entry.record());
+        }
+        return records;
+    }
+
+    private Path spoolDirectory() {
+        return Path.of(properties.getSpool().getDirectory()).resolve(name);
+    }
+
+    private Path spoolFile() {
+        return spoolDirectory().resolve(name + ".spool");
+    }
+
+    private Path deadLetterFile() {
+        return spoolDirectory().resolve(name + ".rejected");
+    }
+
+    private Counter recordCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("sca.pipeline.records")
+                .tag("pipeline", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A buffered record and, under FLUSH_BEFORE_ACK, the signal its submitter is waiting for.
+     */
+    private record Entry<T>(T record, Sinks.Empty<Void> ack) {
+    }
+}
@@ -19,6 +19,8 @@ package com.firefly.core.sca.core.services;
 
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAAttemptDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,6 +31,7 @@ import java.util.UUID;
  */
 public interface SCAAttemptService {
     Mono<PaginationResponse<SCAAttemptDTO>> findAllByChallengeId(UUID operationId, UUID challengeId, PaginationRequest paginationRequest);
+    Mono<CursorPaginationResponse<SCAAttemptDTO>> findAllByChallengeIdWithCursor(UUID operationId, UUID challengeId, CursorPaginationRequest cursorRequest);
     Mono<SCAAttemptDTO> create(UUID operationId, UUID challengeId, SCAAttemptDTO dto);
     Mono<SCAAttemptDTO> findById(UUID operationId, UUID challengeId, UUID attemptId);
     Mono<SCAAttemptDTO> update(UUID operationId, UUID challengeId, UUID attemptId, SCAAttemptDTO dto);
@@ -21,6 +21,9 @@ import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import org.fireflyframework.core.queries.PaginationUtils;
 import com.firefly.core.sca.core.mappers.SCAAttemptMapper;
+import com.firefly.core.sca.core.utils.CursorPaginationUtils;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAAttemptDTO;
 import com.firefly.core.sca.models.entities.SCAAttempt;
 import com.firefly.core.sca.models.repositories.SCAAttemptRepository;
@@ -50,6 +53,18 @@ public class SCAAttemptServiceImpl implements SCAAttemptService {
         );
     }
 
+    @Override
+    public Mono<CursorPaginationResponse<SCAAttemptDTO>> findAllByChallengeIdWithCursor(UUID operationId, UUID challengeId, CursorPaginationRequest cursorRequest) {
+        return CursorPaginationUtils.paginateQuery(
+                cursorRequest,
+                mapper::toDTO,
+                entity -> new CursorPaginationUtils.Cursor(entity.getAttemptedAt(), entity.getId()),
+                limit -> repository.findFirstPageByScaChallengeId(challengeId, limit),
+                (cursor, limit) -> repository.findPageByScaChallengeIdAfter(challengeId, cursor.time(), cursor.id(), limit),
+                () -> repository.countByScaChallengeId(challengeId)
+        );
+    }
+
     @Override
     public Mono<SCAAttemptDTO> create(UUID operationId, UUID challengeId, SCAAttemptDTO dto) {
         dto.setScaChallengeId(challengeId);
@@ -68,23 +83,22 @@ public class SCAAttemptServiceImpl implements SCAAttemptService {
 
     @Override
     public Mono<SCAAttemptDTO> update(UUID operationId, UUID challengeId, UUID attemptId, SCAAttemptDTO dto) {
-        return repository.findById(attemptId)
-                .filter(attempt -> challengeId.equals(attempt.getScaChallengeId()))
+        return Mono.fromCallable(() -> mapper.toEntity(dto))
+                .flatMap(entity -> repository.updateAttempt(
+                        attemptId,
+                        challengeId,
+                        entity.getAttemptValue(),
+                        entity.getAttemptedAt(),
+                        entity.getSuccess(),
+                        entity.getIpAddress()))
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Attempt not found or does not belong to the challenge.")))
-                .flatMap(existingAttempt -> {
-                    SCAAttempt updatedEntity = mapper.toEntity(dto);
-                    updatedEntity.setId(attemptId);
-                    updatedEntity.setScaChallengeId(challengeId);
-                    return repository.save(updatedEntity);
-                })
                 .map(mapper::toDTO);
     }
 
     @Override
     public Mono<Void> delete(UUID operationId, UUID challengeId, UUID attemptId) {
-        return repository.findById(attemptId)
-                .filter(attempt -> challengeId.equals(attempt.getScaChallengeId()))
+        return repository.deleteByIdAndChallengeId(attemptId, challengeId)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Attempt not found or does not belong to the challenge.")))
-                .flatMap(repository::delete);
+                .then();
     }
 }
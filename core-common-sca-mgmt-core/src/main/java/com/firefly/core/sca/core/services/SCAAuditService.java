@@ -19,6 +19,8 @@ package com.firefly.core.sca.core.services;
 
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
@@ -29,6 +31,7 @@ import java.util.UUID;
  */
 public interface SCAAuditService {
     Mono<PaginationResponse<SCAAuditDTO>> findAllByOperationId(UUID operationId, PaginationRequest paginationRequest);
+    Mono<CursorPaginationResponse<SCAAuditDTO>> findAllByOperationIdWithCursor(UUID operationId, CursorPaginationRequest cursorRequest);
     Mono<SCAAuditDTO> create(UUID operationId, SCAAuditDTO dto);
     Mono<SCAAuditDTO> findById(UUID operationId, UUID auditId);
     Mono<SCAAuditDTO> update(UUID operationId, UUID auditId, SCAAuditDTO dto);
@@ -20,14 +20,24 @@ package com.firefly.core.sca.core.services;
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import org.fireflyframework.core.queries.PaginationUtils;
+import com.firefly.core.sca.core.cache.SCASingleFlight;
 import com.firefly.core.sca.core.mappers.SCAAuditMapper;
+import com.firefly.core.sca.core.pipeline.SCAAuditPipeline;
+import com.firefly.core.sca.core.utils.CursorPaginationUtils;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
 import com.firefly.core.sca.models.entities.SCAAudit;
 import com.firefly.core.sca.models.repositories.SCAAuditRepository;
+import com.firefly.core.sca.models.utils.UUIDv7Generator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -40,6 +50,12 @@ public class SCAAuditServiceImpl implements SCAAuditService {
     @Autowired
     private SCAAuditMapper mapper;
 
+    @Autowired
+    private SCAAuditPipeline pipeline;
+
+    @Autowired
+    private SCASingleFlight singleFlight;
+
     @Override
     public Mono<PaginationResponse<SCAAuditDTO>> findAllByOperationId(UUID operationId, PaginationRequest paginationRequest) {
         return PaginationUtils.paginateQuery(
@@ -50,36 +66,62 @@ public class SCAAuditServiceImpl implements SCAAuditService {
         );
     }
 
+    @Override
+    public Mono<CursorPaginationResponse<SCAAuditDTO>> findAllByOperationIdWithCursor(UUID operationId, CursorPaginationRequest cursorRequest) {
+        return CursorPaginationUtils.paginateQuery(
+                cursorRequest,
+                mapper::toDTO,
+                entity -> new CursorPaginationUtils.Cursor(entity.getEventTime(), entity.getId()),
+                limit -> repository.findFirstPageByScaOperationId(operationId, limit),
+                (cursor, limit) -> repository.findPageByScaOperationIdAfter(operationId, cursor.time(), cursor.id(), limit),
+                () -> repository.countByScaOperationId(operationId)
+        );
+    }
+
     @Override
     public Mono<SCAAuditDTO> create(UUID operationId, SCAAuditDTO dto) {
         SCAAudit entity = mapper.toEntity(dto);
         entity.setScaOperationId(operationId);
+        if (pipeline.isEnabled()) {
+            // Write-behind: the row is persisted by the next batch flush
+            entity.setId(UUIDv7Generator.next());
+            if (entity.getEventTime() == null) {
+                entity.setEventTime(LocalDateTime.now());
+            }
+            return pipeline.submit(entity)
+                    .thenReturn(entity)
+                    .map(mapper::toDTO);
+        }
         return repository.save(entity).map(mapper::toDTO);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<SCAAuditDTO> findById(UUID operationId, UUID auditId) {
-        return repository.findById(auditId)
+        return singleFlight.share(SCASingleFlight.Group.AUDIT, auditId, () -> repository.findById(auditId))
                 .filter(audit -> audit.getScaOperationId().equals(operationId))
                 .map(mapper::toDTO);
     }
 
     @Override
     public Mono<SCAAuditDTO> update(UUID operationId, UUID auditId, SCAAuditDTO dto) {
-        return repository.findById(auditId)
-                .filter(audit -> audit.getScaOperationId().equals(operationId))
-                .flatMap(existingAudit -> {
-                    SCAAudit updatedEntity = mapper.toEntity(dto);
-                    updatedEntity.setId(auditId);
-                    updatedEntity.setScaOperationId(operationId);
-                    return repository.save(updatedEntity);
-                }).map(mapper::toDTO);
+        return Mono.fromCallable(() -> mapper.toEntity(dto))
+                .flatMap(entity -> repository.updateAudit(
+                        auditId,
+                        operationId,
+                        entity.getScaChallengeId(),
+                        entity.getPartyId(),
+                        Objects.toString(entity.getEventType(), null),
+                        entity.getEventTime(),
+                        entity.getDetails()))
+                .doOnNext(saved -> singleFlight.forget(SCASingleFlight.Group.AUDIT, auditId))
+                .map(mapper::toDTO);
     }
 
     @Override
     public Mono<Void> delete(UUID operationId, UUID auditId) {
-        return repository.findById(auditId)
-                .filter(audit -> audit.getScaOperationId().equals(operationId))
-                .flatMap(repository::delete);
+        return repository.deleteByIdAndOperationId(auditId, operationId)
+                .doOnNext(deleted -> singleFlight.forget(SCASingleFlight.Group.AUDIT, auditId))
+                .then();
     }
 }
@@ -19,6 +19,9 @@ package com.firefly.core.sca.core.services;
 
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
 import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
 import reactor.core.publisher.Flux;
@@ -32,14 +35,30 @@ import java.util.UUID;
 public interface SCAChallengeService {
 
     Mono<PaginationResponse<SCAChallengeDTO>> findAllByOperationId(UUID operationId, PaginationRequest paginationRequest);
+    Mono<CursorPaginationResponse<SCAChallengeDTO>> findAllByOperationIdWithCursor(UUID operationId, CursorPaginationRequest cursorRequest);
     Mono<SCAChallengeDTO> create(UUID operationId, SCAChallengeDTO dto);
     Mono<SCAChallengeDTO> findById(UUID operationId, UUID challengeId);
+
+    /**
+     * Entity tag of the challenge from its version, without reading the whole row.
+     */
+    Mono<SCAEntityTag> findTag(UUID operationId, UUID challengeId);
     Mono<SCAChallengeDTO> update(UUID operationId, UUID challengeId, SCAChallengeDTO dto);
-    Mono<Void> delete(UUID operationId, UUID challengeId);
+
+    /**
+     * Returns the deleted challenge ID, or nothing when the challenge does not exist or belongs
+     * to another operation.
+     */
+    Mono<UUID> delete(UUID operationId, UUID challengeId);
     Mono<SCAChallengeDTO> findActiveChallengeForOperation(UUID operationId);
 
     /**
      * Validate a single challenge with the given user code (OTP).
      */
     Mono<ValidationResultDTO> validateChallenge(UUID operationId, UUID challengeId, String userCode);
+
+    /**
+     * Same as {@link #validateChallenge(UUID, UUID, String)}, recording the client IP on the attempt row.
+     */
+    Mono<ValidationResultDTO> validateChallenge(UUID operationId, UUID challengeId, String userCode, String ipAddress);
 }
\ No newline at end of file
@@ -20,13 +20,33 @@ package com.firefly.core.sca.core.services;
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import org.fireflyframework.core.queries.PaginationUtils;
+import com.firefly.core.sca.core.await.SCAStatusWaiters;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import com.firefly.core.sca.core.cache.SCASingleFlight;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeGenerator;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeHasher;
+import com.firefly.core.sca.core.concurrency.SCAConflictException;
+import com.firefly.core.sca.core.concurrency.SCAConflictRetry;
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.diagnostics.SCAValidationTrace;
+import com.firefly.core.sca.core.execution.SCAExecutionModel;
 import com.firefly.core.sca.core.mappers.SCAChallengeMapper;
+import com.firefly.core.sca.core.metrics.SCAValidationMetrics;
+import com.firefly.core.sca.core.pipeline.SCAAttemptRecorder;
+import com.firefly.core.sca.core.throttling.SCAAttemptLimiter;
+import com.firefly.core.sca.core.utils.CursorPaginationUtils;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
 import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
 import com.firefly.core.sca.models.entities.SCAChallenge;
 import com.firefly.core.sca.models.repositories.SCAChallengeRepository;
+import com.firefly.core.sca.models.repositories.SCAOperationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
@@ -43,6 +63,42 @@ public class SCAChallengeServiceImpl implements SCAChallengeService {
     @Autowired
     private SCAChallengeMapper mapper;
 
+    @Autowired
+    private SCAOperationRepository operationRepository;
+
+    @Autowired
+    private SCAAttemptLimiter attemptLimiter;
+
+    @Autowired
+    private SCAAttemptLimitProperties attemptLimitProperties;
+
+    @Autowired
+    private SCAAttemptRecorder attemptRecorder;
+
+    @Autowired
+    private SCAExecutionModel executionModel;
+
+    @Autowired
+    private SCAChallengeCodeGenerator codeGenerator;
+
+    @Autowired
+    private SCAChallengeCodeHasher codeHasher;
+
+    @Autowired
+    private SCAChallengeProperties challengeProperties;
+
+    @Autowired
+    private SCAValidationMetrics validationMetrics;
+
+    @Autowired
+    private SCAConflictRetry conflictRetry;
+
+    @Autowired
+    private SCASingleFlight singleFlight;
+
+    @Autowired
+    private SCAStatusWaiters statusWaiters;
+
     @Override
     public Mono<PaginationResponse<SCAChallengeDTO>> findAllByOperationId(UUID operationId, PaginationRequest paginationRequest) {
         return PaginationUtils.paginateQuery(
@@ -53,65 +109,238 @@ public class SCAChallengeServiceImpl implements SCAChallengeService {
         );
     }
 
+    @Override
+    public Mono<CursorPaginationResponse<SCAChallengeDTO>> findAllByOperationIdWithCursor(UUID operationId, CursorPaginationRequest cursorRequest) {
+        return CursorPaginationUtils.paginateQuery(
+                cursorRequest,
+                mapper::toDTO,
+                entity -> new CursorPaginationUtils.Cursor(entity.getCreatedAt(), entity.getId()),
+                limit -> repository.findFirstPageByScaOperationId(operationId, limit),
+                (cursor, limit) -> repository.findPageByScaOperationIdAfter(operationId, cursor.time(), cursor.id(), limit),
+                () -> repository.countByScaOperationId(operationId)
+        );
+    }
+
     @Override
     public Mono<SCAChallengeDTO> create(UUID operationId, SCAChallengeDTO dto) {
         SCAChallenge entity = mapper.toEntity(dto);
         entity.setScaOperationId(operationId);
-        return repository.save(entity).map(mapper::toDTO);
+        entity.setVersion(null); // a version would make the save an update
+        return withGeneratedCode(entity)
+                .flatMap(challenge -> {
+                    String code = challenge.getChallengeCode();
+                    challenge.setChallengeCode(storedCode(operationId, code));
+                    return repository.save(challenge)
+                            .map(saved -> {
+                                // only the digest is stored, the response carries the code for delivery
+                                SCAChallengeDTO created = mapper.toDTO(saved);
+                                created.setChallengeCode(code);
+                                return created;
+                            });
+                })
+                .transform(this::scheduled);
     }
 
+    /**
+     * Concurrent reads of the same challenge share one load (see SCASingleFlight); the operation
+     * check runs per caller. Validation always reads the challenge itself.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<SCAChallengeDTO> findById(UUID operationId, UUID challengeId) {
-        return repository.findById(challengeId)
+        return singleFlight.share(SCASingleFlight.Group.CHALLENGE, challengeId, () -> repository.findById(challengeId))
                 .filter(challenge -> challenge.getScaOperationId().equals(operationId))
-                .map(mapper::toDTO);
+                .map(mapper::toDTO)
+                .transform(this::scheduled);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<SCAEntityTag> findTag(UUID operationId, UUID challengeId) {
+        return singleFlight.share(SCASingleFlight.Group.CHALLENGE_TAG, challengeId,
+                        () -> repository.findVersionStampById(challengeId))
+                .filter(stamp -> stamp.getScaOperationId().equals(operationId))
+                .map(stamp -> SCAEntityTag.ofVersion(stamp.getVersion(), null))
+                .transform(this::scheduled);
     }
 
+    /**
+     * Runs without a surrounding transaction so a write that lost a race can be retried;
+     * a stale client version fails with SCAConflictException.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<SCAChallengeDTO> update(UUID operationId, UUID challengeId, SCAChallengeDTO dto) {
-        return repository.findById(challengeId)
-                .filter(challenge -> challenge.getScaOperationId().equals(operationId))
-                .flatMap(existingChallenge -> {
-                    SCAChallenge updatedEntity = mapper.toEntity(dto);
-                    updatedEntity.setId(challengeId);
-                    updatedEntity.setScaOperationId(operationId);
-                    return repository.save(updatedEntity);
-                }).map(mapper::toDTO);
+        return Mono.fromCallable(() -> mapper.toEntity(dto))
+                .flatMap(entity -> conflictRetry.retrying(repository.updateChallenge(
+                        challengeId,
+                        operationId,
+                        storedCode(operationId, dto.getChallengeCode()),
+                        entity.getCreatedAt(),
+                        entity.getExpiresAt(),
+                        entity.getUsed(),
+                        entity.getVersion())))
+                .doOnNext(saved -> singleFlight.forget(SCASingleFlight.Group.CHALLENGE, challengeId))
+                .map(mapper::toDTO)
+                .switchIfEmpty(Mono.defer(() -> notUpdated(operationId, challengeId, dto.getVersion())))
+                .transform(this::scheduled);
     }
 
     @Override
-    public Mono<Void> delete(UUID operationId, UUID challengeId) {
-        return repository.findById(challengeId)
-                .filter(challenge -> challenge.getScaOperationId().equals(operationId))
-                .flatMap(repository::delete);
+    public Mono<UUID> delete(UUID operationId, UUID challengeId) {
+        // attempts cascade with the challenge; buffered ones are flushed first so they go with it
+        return attemptRecorder.flush()
+                .then(repository.deleteByIdAndOperationId(challengeId, operationId))
+                .doOnNext(deleted -> singleFlight.forget(SCASingleFlight.Group.CHALLENGE, challengeId))
+                .transform(this::scheduled);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<SCAChallengeDTO> findActiveChallengeForOperation(UUID operationId) {
         return repository.findActiveChallengeForOperation(operationId)
                 .map(mapper::toDTO)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("No active challenge found for operation")));
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("No active challenge found for operation")))
+                .transform(this::scheduled);
     }
 
     @Override
     public Mono<ValidationResultDTO> validateChallenge(UUID operationId, UUID challengeId, String userCode) {
-        return repository.findById(challengeId)
+        return validateChallenge(operationId, challengeId, userCode, null);
+    }
+
+    @Override
+    public Mono<ValidationResultDTO> validateChallenge(UUID operationId, UUID challengeId, String userCode, String ipAddress) {
+        // the challenge flow never loads the operation, so its type is not known here
+        return Mono.defer(() -> {
+            SCAValidationTrace trace = SCAValidationTrace.begin(SCAValidationMetrics.Flow.CHALLENGE, operationId);
+            return trace.end(validate(operationId, challengeId, userCode, ipAddress, trace));
+        }).doOnNext(result -> validationMetrics.record(SCAValidationMetrics.Flow.CHALLENGE, result, null));
+    }
+
+    private Mono<ValidationResultDTO> validate(UUID operationId, UUID challengeId, String userCode, String ipAddress,
+                                               SCAValidationTrace trace) {
+        long admission = trace.mark();
+        SCAAttemptLimiter.Decision decision = attemptLimiter.tryAcquire(operationId);
+        trace.record(SCAValidationTrace.Stage.ADMISSION, admission);
+        if (decision == SCAAttemptLimiter.Decision.LOCKED) {
+            return Mono.just(new ValidationResultDTO(false, true, "Maximum number of attempts exceeded"));
+        }
+        if (decision != SCAAttemptLimiter.Decision.ALLOWED) {
+            return Mono.just(new ValidationResultDTO(false, true, "Too many validation attempts"));
+        }
+        return trace.time(SCAValidationTrace.Stage.LOOKUP, repository.findById(challengeId))
                 .filter(challenge -> challenge.getScaOperationId().equals(operationId))
                 .flatMap(challenge -> {
                     if (Boolean.TRUE.equals(challenge.getUsed())) {
                         return Mono.just(new ValidationResultDTO(false, true, "Challenge already used"));
                     }
-                    if (!challenge.getChallengeCode().equals(userCode)) {
-                        return Mono.just(new ValidationResultDTO(false, false, "Invalid challenge code"));
+                    if (challenge.getRetiredAt() != null) {
+                        // retired unused by the expiry sweeper, or by a trigger after wrong codes
+                        return Mono.just(isExpired(challenge)
+                                ? new ValidationResultDTO(false, true, "Challenge has expired")
+                                : new ValidationResultDTO(false, true, "Challenge has been superseded"));
+                    }
+                    long comparison = trace.mark();
+                    boolean matches = codeHasher.matches(operationId, userCode, challenge.getChallengeCode());
+                    trace.record(SCAValidationTrace.Stage.COMPARISON, comparison);
+                    if (!matches) {
+                        return trace.time(SCAValidationTrace.Stage.ATTEMPT_RECORDING,
+                                        attemptRecorder.record(challengeId, userCode, false, ipAddress))
+                                .then(trace.time(SCAValidationTrace.Stage.SAVE, registerFailedAttempt(operationId, challengeId)));
                     }
-                    if (challenge.getExpiresAt().isBefore(LocalDateTime.now())) {
-                        return Mono.just(new ValidationResultDTO(false, true, "Challenge has expired"));
+                    if (isExpired(challenge)) {
+                        return trace.time(SCAValidationTrace.Stage.ATTEMPT_RECORDING,
+                                        attemptRecorder.record(challengeId, userCode, false, ipAddress))
+                                .thenReturn(new ValidationResultDTO(false, true, "Challenge has expired"));
                     }
 
-                    challenge.setUsed(true);
-                    return repository.save(challenge)
-                            .thenReturn(new ValidationResultDTO(true, false, "Challenge successfully validated"));
+                    // a concurrent validation may have consumed the challenge since it was read
+                    return trace.time(SCAValidationTrace.Stage.SAVE, repository.consume(challengeId))
+                            .doOnNext(consumed -> singleFlight.forget(SCASingleFlight.Group.CHALLENGE, challengeId))
+                            .flatMap(consumed -> trace.time(SCAValidationTrace.Stage.ATTEMPT_RECORDING,
+                                            attemptRecorder.record(challengeId, userCode, true, ipAddress))
+                                    .thenReturn(new ValidationResultDTO(true, false, "Challenge successfully validated")))
+                            .defaultIfEmpty(new ValidationResultDTO(false, true, "Challenge already used"));
                 })
-                .defaultIfEmpty(new ValidationResultDTO(false, true, "Challenge not found"));
+                .defaultIfEmpty(new ValidationResultDTO(false, true, "Challenge not found"))
+                .transform(this::scheduled);
+    }
+
+    /**
+     * Challenges created without a code get one generated in the format configured for the
+     * operation type, and an expiry from its TTL unless one was given.
+     */
+    private Mono<SCAChallenge> withGeneratedCode(SCAChallenge entity) {
+        if (entity.getChallengeCode() != null && !entity.getChallengeCode().isBlank()) {
+            return Mono.just(entity);
+        }
+        return operationRepository.findById(entity.getScaOperationId())
+                .switchIfEmpty(Mono.error(new RuntimeException("SCA Operation not found")))
+                .map(operation -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    entity.setChallengeCode(codeGenerator.generate(operation.getOperationType()));
+                    if (entity.getCreatedAt() == null) {
+                        entity.setCreatedAt(now);
+                    }
+                    if (entity.getExpiresAt() == null) {
+                        entity.setExpiresAt(now.plus(challengeProperties.ttl(operation.getOperationType())));
+                    }
+                    if (entity.getUsed() == null) {
+                        entity.setUsed(false);
+                    }
+                    return entity;
+                });
+    }
+
+    /**
+     * Client codes are always stored as digests. A code carrying the digest prefix is rejected, as it
+     * would otherwise be stored as a digest the client chose.
+     */
+    private String storedCode(UUID operationId, String code) {
+        if (code != null && code.startsWith(SCAChallengeCodeHasher.PREFIX)) {
+            throw new IllegalArgumentException("Challenge code must not start with " + SCAChallengeCodeHasher.PREFIX);
+        }
+        return codeHasher.hash(operationId, code);
+    }
+
+    /**
+     * A conditional update that matched no row is a conflict when the challenge still exists;
+     * otherwise the challenge is missing and nothing is returned.
+     */
+    private <T> Mono<T> notUpdated(UUID operationId, UUID challengeId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.empty();
+        }
+        return repository.existsByIdAndScaOperationId(challengeId, operationId)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> Mono.error(new SCAConflictException("SCA Challenge", challengeId, expectedVersion)));
+    }
+
+    private <T> Mono<T> scheduled(Mono<T> mono) {
+        return executionModel.on(SCAExecutionProperties.Service.CHALLENGE, mono);
+    }
+
+    /**
+     * Counts a wrong code against the operation, which is moved to FAILED once the limit is reached.
+     */
+    private Mono<ValidationResultDTO> registerFailedAttempt(UUID operationId, UUID challengeId) {
+        int maxAttempts = attemptLimitProperties.getMaxFailedAttempts();
+        return operationRepository.registerFailedAttempt(operationId, challengeId, maxAttempts)
+                .map(failedAttempts -> failedAttempts >= maxAttempts)
+                .defaultIfEmpty(false)
+                .map(locked -> {
+                    singleFlight.forget(SCASingleFlight.Group.OPERATION, operationId);
+                    attemptLimiter.record(operationId, null, locked);
+                    if (locked) {
+                        statusWaiters.signal(operationId);
+                        return new ValidationResultDTO(false, true, "Maximum number of attempts exceeded");
+                    }
+                    return new ValidationResultDTO(false, false, "Invalid challenge code");
+                });
+    }
+
+    private static boolean isExpired(SCAChallenge challenge) {
+        return challenge.getExpiresAt() != null && challenge.getExpiresAt().isBefore(LocalDateTime.now());
     }
 }
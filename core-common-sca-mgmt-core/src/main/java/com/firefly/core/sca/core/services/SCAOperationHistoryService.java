@@ -19,6 +19,8 @@ package com.firefly.core.sca.core.services;
 
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAOperationHistoryDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,6 +31,7 @@ import java.util.UUID;
  */
 public interface SCAOperationHistoryService {
     Mono<PaginationResponse<SCAOperationHistoryDTO>> findAllByOperationId(UUID operationId, PaginationRequest paginationRequest);
+    Mono<CursorPaginationResponse<SCAOperationHistoryDTO>> findAllByOperationIdWithCursor(UUID operationId, CursorPaginationRequest cursorRequest);
     Mono<SCAOperationHistoryDTO> create(UUID operationId, SCAOperationHistoryDTO dto);
     Mono<SCAOperationHistoryDTO> findById(UUID operationId, UUID historyId);
     Mono<SCAOperationHistoryDTO> update(UUID operationId, UUID historyId, SCAOperationHistoryDTO dto);
@@ -20,14 +20,20 @@ package com.firefly.core.sca.core.services;
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import org.fireflyframework.core.queries.PaginationUtils;
+import com.firefly.core.sca.core.cache.SCASingleFlight;
 import com.firefly.core.sca.core.mappers.SCAOperationHistoryMapper;
+import com.firefly.core.sca.core.utils.CursorPaginationUtils;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAOperationHistoryDTO;
 import com.firefly.core.sca.models.entities.SCAOperationHistory;
 import com.firefly.core.sca.models.repositories.SCAOperationHistoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -40,6 +46,9 @@ public class SCAOperationHistoryServiceImpl implements SCAOperationHistoryServic
     @Autowired
     private SCAOperationHistoryMapper mapper;
 
+    @Autowired
+    private SCASingleFlight singleFlight;
+
     @Override
     public Mono<PaginationResponse<SCAOperationHistoryDTO>> findAllByOperationId(UUID operationId, PaginationRequest paginationRequest) {
         return PaginationUtils.paginateQuery(
@@ -50,6 +59,18 @@ public class SCAOperationHistoryServiceImpl implements SCAOperationHistoryServic
         );
     }
 
+    @Override
+    public Mono<CursorPaginationResponse<SCAOperationHistoryDTO>> findAllByOperationIdWithCursor(UUID operationId, CursorPaginationRequest cursorRequest) {
+        return CursorPaginationUtils.paginateQuery(
+                cursorRequest,
+                mapper::toDTO,
+                entity -> new CursorPaginationUtils.Cursor(entity.getEventTime(), entity.getId()),
+                limit -> repository.findFirstPageByScaOperationId(operationId, limit),
+                (cursor, limit) -> repository.findPageByScaOperationIdAfter(operationId, cursor.time(), cursor.id(), limit),
+                () -> repository.countByScaOperationId(operationId)
+        );
+    }
+
     @Override
     public Mono<SCAOperationHistoryDTO> create(UUID operationId, SCAOperationHistoryDTO dto) {
         SCAOperationHistory entity = mapper.toEntity(dto);
@@ -58,28 +79,30 @@ public class SCAOperationHistoryServiceImpl implements SCAOperationHistoryServic
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<SCAOperationHistoryDTO> findById(UUID operationId, UUID historyId) {
-        return repository.findById(historyId)
+        return singleFlight.share(SCASingleFlight.Group.HISTORY, historyId, () -> repository.findById(historyId))
                 .filter(history -> history.getScaOperationId().equals(operationId))
                 .map(mapper::toDTO);
     }
 
     @Override
     public Mono<SCAOperationHistoryDTO> update(UUID operationId, UUID historyId, SCAOperationHistoryDTO dto) {
-        return repository.findById(historyId)
-                .filter(history -> history.getScaOperationId().equals(operationId))
-                .flatMap(existingHistory -> {
-                    SCAOperationHistory updatedEntity = mapper.toEntity(dto);
-                    updatedEntity.setId(historyId);
-                    updatedEntity.setScaOperationId(operationId);
-                    return repository.save(updatedEntity);
-                }).map(mapper::toDTO);
+        return Mono.fromCallable(() -> mapper.toEntity(dto))
+                .flatMap(entity -> repository.updateHistory(
+                        historyId,
+                        operationId,
+                        Objects.toString(entity.getStatus(), null),
+                        entity.getEventTime(),
+                        entity.getComments()))
+                .doOnNext(saved -> singleFlight.forget(SCASingleFlight.Group.HISTORY, historyId))
+                .map(mapper::toDTO);
     }
 
     @Override
     public Mono<Void> delete(UUID operationId, UUID historyId) {
-        return repository.findById(historyId)
-                .filter(history -> history.getScaOperationId().equals(operationId))
-                .flatMap(repository::delete);
+        return repository.deleteByIdAndOperationId(historyId, operationId)
+                .doOnNext(deleted -> singleFlight.forget(SCASingleFlight.Group.HISTORY, historyId))
+                .then();
     }
 }
\ No newline at end of file
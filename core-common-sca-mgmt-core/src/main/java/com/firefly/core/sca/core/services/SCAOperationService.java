@@ -19,9 +19,17 @@ package com.firefly.core.sca.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import com.firefly.core.sca.interfaces.dtos.BatchValidationItemDTO;
+import com.firefly.core.sca.interfaces.dtos.BatchValidationResultDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAInitiationRequestDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAInitiationResponseDTO;
 import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
 import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -34,10 +42,31 @@ public interface SCAOperationService {
     Mono<PaginationResponse<SCAOperationDTO>> filterAll(FilterRequest<SCAOperationDTO> filterRequest);
     Mono<SCAOperationDTO> create(SCAOperationDTO dto);
     Mono<SCAOperationDTO> findById(UUID operationId);
+
+    /**
+     * Entity tag of the operation from its version and last update, without reading the whole row.
+     */
+    Mono<SCAEntityTag> findTag(UUID operationId);
+
+    /**
+     * Long-poll: completes with the operation once its status differs from knownStatus (its status
+     * when the call starts if null), or with the unchanged operation once the timeout passes.
+     */
+    Mono<SCAOperationDTO> awaitStatusChange(UUID operationId, SCAStatusEnum knownStatus, Duration timeout);
     Mono<SCAOperationDTO> update(UUID operationId, SCAOperationDTO dto);
-    Mono<Void> delete(UUID operationId);
+
+    /**
+     * Returns the deleted operation ID, or nothing when the operation does not exist.
+     */
+    Mono<UUID> delete(UUID operationId);
 
     // --- SCA Flow Methods ---
+    /**
+     * Create, challenge and trigger in one step: persists a PENDING operation with a
+     * server-generated challenge, its history and audit rows in a single statement.
+     */
+    Mono<SCAInitiationResponseDTO> initiateSCA(SCAInitiationRequestDTO request);
+
     /**
      * Trigger the SCA operation: generate challenges, send OTP, set status to PENDING, etc.
      */
@@ -48,4 +77,15 @@ public interface SCAOperationService {
      * Returns a ValidationResultDTO indicating success/failure/locked.
      */
     Mono<ValidationResultDTO> validateSCA(UUID operationId, String userCode);
+
+    /**
+     * Same as {@link #validateSCA(UUID, String)}, recording the client IP on the attempt row.
+     */
+    Mono<ValidationResultDTO> validateSCA(UUID operationId, String userCode, String ipAddress);
+
+    /**
+     * Validates many codes with bounded parallelism. Every item gets the result of
+     * {@link #validateSCA(UUID, String, String)} in its own transaction; results are emitted as they complete.
+     */
+    Flux<BatchValidationResultDTO> validateSCABatch(Flux<BatchValidationItemDTO> items, String ipAddress);
 }
\ No newline at end of file
@@ -20,19 +20,50 @@ package com.firefly.core.sca.core.services;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.core.await.SCAStatusWaiters;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import com.firefly.core.sca.core.cache.SCASingleFlight;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeGenerator;
+import com.firefly.core.sca.core.challenges.SCAChallengeCodeHasher;
+import com.firefly.core.sca.core.concurrency.SCAConflictException;
+import com.firefly.core.sca.core.concurrency.SCAConflictRetry;
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.firefly.core.sca.core.config.SCAAwaitProperties;
+import com.firefly.core.sca.core.config.SCABatchValidationProperties;
+import com.firefly.core.sca.core.config.SCAChallengeProperties;
+import com.firefly.core.sca.core.config.SCAExecutionProperties;
+import com.firefly.core.sca.core.diagnostics.SCAValidationTrace;
+import com.firefly.core.sca.core.execution.SCAExecutionModel;
+import com.firefly.core.sca.core.mappers.SCAChallengeMapper;
 import com.firefly.core.sca.core.mappers.SCAOperationMapper;
+import com.firefly.core.sca.core.metrics.SCAValidationMetrics;
+import com.firefly.core.sca.core.pipeline.SCAAttemptRecorder;
+import com.firefly.core.sca.core.throttling.SCAAttemptLimiter;
+import com.firefly.core.sca.interfaces.dtos.BatchValidationItemDTO;
+import com.firefly.core.sca.interfaces.dtos.BatchValidationResultDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAErrorDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAInitiationRequestDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAInitiationResponseDTO;
 import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
 import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
 import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
+import com.firefly.core.sca.models.entities.SCAChallenge;
 import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.projections.SCAValidationOutcome;
 import com.firefly.core.sca.models.repositories.SCAOperationRepository;
+import com.firefly.core.sca.models.utils.UUIDv7Generator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -40,14 +71,59 @@ import java.util.UUID;
 public class SCAOperationServiceImpl implements SCAOperationService {
 
     @Autowired
-    private SCAChallengeService challengeService;
+    private SCAOperationRepository repository;
 
+    @Autowired
+    private SCAOperationMapper mapper;
 
     @Autowired
-    private SCAOperationRepository repository;
+    private SCAChallengeMapper challengeMapper;
 
     @Autowired
-    private SCAOperationMapper mapper;
+    private SCAChallengeCodeGenerator codeGenerator;
+
+    @Autowired
+    private SCAChallengeCodeHasher codeHasher;
+
+    @Autowired
+    private SCAChallengeProperties challengeProperties;
+
+    @Autowired
+    private SCAAttemptLimiter attemptLimiter;
+
+    @Autowired
+    private SCAAttemptLimitProperties attemptLimitProperties;
+
+    @Autowired
+    private SCAAttemptRecorder attemptRecorder;
+
+    @Autowired
+    private SCAExecutionModel executionModel;
+
+    @Autowired
+    private SCAValidationMetrics validationMetrics;
+
+    @Autowired
+    private SCABatchValidationProperties batchValidationProperties;
+
+    @Autowired
+    private SCAConflictRetry conflictRetry;
+
+    @Autowired
+    private SCASingleFlight singleFlight;
+
+    @Autowired
+    private SCAStatusWaiters statusWaiters;
+
+    @Autowired
+    private SCAAwaitProperties awaitProperties;
+
+    /**
+     * Batch items go through the proxy so each one runs in its own transaction.
+     */
+    @Lazy
+    @Autowired
+    private SCAOperationService self;
 
     @Override
     public Mono<PaginationResponse<SCAOperationDTO>> filterAll(FilterRequest<SCAOperationDTO> filterRequest) {
@@ -55,7 +131,7 @@ public class SCAOperationServiceImpl implements SCAOperationService {
                         SCAOperation.class,
                         mapper::toDTO
                 ).filter(filterRequest)
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(this::scheduled);
     }
 
     @Override
@@ -65,104 +141,304 @@ public class SCAOperationServiceImpl implements SCAOperationService {
                 .flatMap(entity -> {
                     entity.setCreatedAt(LocalDateTime.now());
                     entity.setLastUpdated(LocalDateTime.now());
+                    entity.setFailedAttempts(0);
+                    entity.setVersion(null); // a version would make the save an update
                     return repository.save(entity);
                 })
                 .map(mapper::toDTO)
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(this::scheduled);
     }
 
+    /**
+     * Concurrent reads of the same operation share one load (see SCASingleFlight); each caller
+     * maps its own DTO. Writes through this service end the sharing of the operation at once.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<SCAOperationDTO> findById(UUID operationId) {
-        return repository.findById(operationId)
+        return singleFlight.share(SCASingleFlight.Group.OPERATION, operationId, () -> repository.findById(operationId))
                 .map(mapper::toDTO)
                 .switchIfEmpty(Mono.error(new RuntimeException("SCA Operation not found")))
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(this::scheduled);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<SCAEntityTag> findTag(UUID operationId) {
+        return singleFlight.share(SCASingleFlight.Group.OPERATION_TAG, operationId,
+                        () -> repository.findVersionStampById(operationId))
+                .map(stamp -> SCAEntityTag.ofVersion(stamp.getVersion(), stamp.getLastUpdated()))
+                .transform(this::scheduled);
     }
 
+    /**
+     * Parked requests hold no connection: the operation is re-read (coalesced) after every signal
+     * from a write on this node, and at least every recheck interval for writes on other nodes.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<SCAOperationDTO> awaitStatusChange(UUID operationId, SCAStatusEnum knownStatus, Duration timeout) {
+        return Mono.defer(() -> {
+            Duration limit = timeout == null ? awaitProperties.getDefaultTimeout() : timeout;
+            if (limit.isNegative()) {
+                limit = Duration.ZERO;
+            } else if (limit.compareTo(awaitProperties.getMaxTimeout()) > 0) {
+                limit = awaitProperties.getMaxTimeout();
+            }
+            return awaitStatusChange(operationId, knownStatus, System.nanoTime() + limit.toNanos());
+        });
+    }
+
+    /**
+     * Single-statement writes need no surrounding transaction, and without one a write that lost
+     * a race can be retried; a stale client version fails with SCAConflictException.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<SCAOperationDTO> update(UUID operationId, SCAOperationDTO dto) {
-        return repository.findById(operationId)
-                .flatMap(existing -> {
-                    SCAOperation updatedEntity = mapper.toEntity(dto);
-                    updatedEntity.setId(operationId);
-                    updatedEntity.setCreatedAt(existing.getCreatedAt());
-                    updatedEntity.setLastUpdated(LocalDateTime.now());
-                    return repository.save(updatedEntity);
+        return Mono.fromCallable(() -> mapper.toEntity(dto))
+                .flatMap(entity -> conflictRetry.retrying(repository.updateOperation(
+                        operationId,
+                        entity.getReferenceId(),
+                        Objects.toString(entity.getOperationType(), null),
+                        entity.getPartyId(),
+                        Objects.toString(entity.getStatus(), null),
+                        entity.getExpiresAt(),
+                        entity.getCancelledAt(),
+                        entity.getVersion())))
+                .doOnNext(saved -> {
+                    singleFlight.forget(SCASingleFlight.Group.OPERATION, operationId);
+                    statusWaiters.signal(operationId);
                 })
                 .map(mapper::toDTO)
-                .switchIfEmpty(Mono.error(new RuntimeException("SCA Operation not found")))
-                .subscribeOn(Schedulers.boundedElastic());
+                .switchIfEmpty(Mono.defer(() -> notUpdated(operationId, dto.getVersion())))
+                .transform(this::scheduled);
     }
 
     @Override
-    public Mono<Void> delete(UUID operationId) {
-        return repository.findById(operationId)
-                .flatMap(repository::delete)
-                .switchIfEmpty(Mono.error(new RuntimeException("SCA Operation not found")))
-                .subscribeOn(Schedulers.boundedElastic());
+    public Mono<UUID> delete(UUID operationId) {
+        return repository.deleteReturningId(operationId)
+                .doOnNext(deleted -> {
+                    singleFlight.forget(SCASingleFlight.Group.OPERATION, operationId);
+                    attemptLimiter.reset(operationId);
+                    statusWaiters.signal(operationId);
+                })
+                .transform(this::scheduled);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<Void> triggerSCA(UUID operationId) {
-
-        return repository.findById(operationId)
-                .flatMap(existing -> {
-                    existing.setStatus(SCAStatusEnum.PENDING);
-                    existing.setLastUpdated(LocalDateTime.now());
-                    return repository.save(existing);
-                })
+        return conflictRetry.retrying(repository.trigger(operationId))
                 .switchIfEmpty(Mono.error(new RuntimeException("SCA Operation not found")))
+                .doOnNext(triggered -> {
+                    singleFlight.forget(SCASingleFlight.Group.OPERATION, operationId);
+                    attemptLimiter.reset(operationId);
+                    statusWaiters.signal(operationId);
+                })
                 .then()
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(this::scheduled);
+    }
+
+    @Override
+    public Mono<SCAInitiationResponseDTO> initiateSCA(SCAInitiationRequestDTO request) {
+        return Mono.defer(() -> {
+            if (request.getReferenceId() == null || request.getOperationType() == null) {
+                return Mono.error(new IllegalArgumentException("referenceId and operationType are required"));
+            }
+            LocalDateTime now = LocalDateTime.now();
+
+            String code = codeGenerator.generate(request.getOperationType());
+            SCAChallenge challenge = new SCAChallenge();
+            challenge.setId(UUIDv7Generator.next());
+            challenge.setCreatedAt(now);
+            challenge.setExpiresAt(now.plus(challengeProperties.ttl(request.getOperationType())));
+            challenge.setUsed(false);
+
+            SCAOperation operation = new SCAOperation();
+            operation.setId(UUIDv7Generator.next());
+            operation.setReferenceId(request.getReferenceId());
+            operation.setOperationType(request.getOperationType());
+            operation.setPartyId(request.getPartyId());
+            operation.setStatus(SCAStatusEnum.PENDING);
+            operation.setCreatedAt(now);
+            operation.setExpiresAt(request.getExpiresAt() != null ? request.getExpiresAt() : challenge.getExpiresAt());
+            operation.setLastUpdated(now);
+            operation.setFailedAttempts(0);
+            operation.setVersion(0L);
+            challenge.setVersion(0L);
+            challenge.setScaOperationId(operation.getId());
+            challenge.setChallengeCode(code);
+            // only the digest is stored, the response carries the code for delivery
+            SCAChallengeDTO challengeDTO = challengeMapper.toDTO(challenge);
+
+            return repository.initiate(operation.getId(), operation.getReferenceId(), operation.getOperationType().name(),
+                            operation.getPartyId(), operation.getExpiresAt(), challenge.getId(),
+                            codeHasher.hash(operation.getId(), code), challenge.getExpiresAt(), now)
+                    .thenReturn(new SCAInitiationResponseDTO(mapper.toDTO(operation), challengeDTO));
+        }).transform(this::scheduled);
     }
 
     /**
-     *  1) We first find the SCA operation to ensure it's PENDING.
-     *  2) We then find an "active" challenge for that operation (not used, not expired).
-     *  3) We call challengeService.validateChallenge(operationId, challengeId, userCode).
-     *  4) We update the operation status to VERIFIED or FAILED depending on the validation result.
+     *  Validation runs as one conditional statement (see SCAOperationRepository#validateAndConsumeChallenge):
+     *  1) The SCA operation must exist and be PENDING.
+     *  2) An "active" challenge (not used, not expired) must exist for that operation.
+     *  3) The user code is compared with the challenge and, on a match, the challenge is consumed.
+     *  4) The operation moves to VERIFIED, or to FAILED once the maximum number of wrong codes is reached.
+     *  Attempts for locked or over-limit operations are rejected in memory before reaching the database.
+     *  Every code comparison is recorded as an sca_attempt row through the attempt pipeline.
      */
     @Override
     public Mono<ValidationResultDTO> validateSCA(UUID operationId, String userCode) {
-        return repository.findById(operationId)
-                .flatMap(existingOperation -> {
-
-                    // 1) Ensure operation is in a valid status for validation
-                    if (existingOperation.getStatus() != SCAStatusEnum.PENDING) {
-                        return Mono.just(new ValidationResultDTO(
-                                false,
-                                false,
-                                "SCA Operation not in a valid state for validation"
-                        ));
-                    }
-
-                    // 2) Find an active challenge for this operation (not used, not expired, etc.)
-                    //    For example: challengeService might expose a method "findActiveChallengeForOperation(...)"
-                    //    that returns a Mono<SCAChallenge> or Mono.empty() if none found.
-                    return challengeService.findActiveChallengeForOperation(operationId)
-                            .flatMap(activeChallenge ->
-                                    // 3) Now validate the user code for that specific challenge
-                                    challengeService.validateChallenge(operationId, activeChallenge.getId(), userCode)
-                            )
-                            .flatMap(validationResult -> {
-                                // 4) Update the operation status based on whether code is valid
-                                existingOperation.setStatus(
-                                        validationResult.isSuccess() ? SCAStatusEnum.VERIFIED : SCAStatusEnum.FAILED
-                                );
-                                existingOperation.setLastUpdated(LocalDateTime.now());
-
-                                // Save updates to SCAOperation in DB, then return the validation result
-                                return repository.save(existingOperation)
-                                        .thenReturn(validationResult);
-                            })
-                            .defaultIfEmpty(new ValidationResultDTO(
-                                    false,
-                                    false,
-                                    "No active challenge found for this operation"
-                            ));
-                })
-                .switchIfEmpty(Mono.error(new RuntimeException("SCA Operation not found")))
-                .subscribeOn(Schedulers.boundedElastic());
+        return validateSCA(operationId, userCode, null);
+    }
+
+    @Override
+    public Mono<ValidationResultDTO> validateSCA(UUID operationId, String userCode, String ipAddress) {
+        return Mono.defer(() -> {
+            SCAValidationTrace trace = SCAValidationTrace.begin(SCAValidationMetrics.Flow.OPERATION, operationId);
+            long admission = trace.mark();
+            SCAAttemptLimiter.Decision decision = attemptLimiter.tryAcquire(operationId);
+            trace.record(SCAValidationTrace.Stage.ADMISSION, admission);
+            if (decision != SCAAttemptLimiter.Decision.ALLOWED) {
+                return trace.end(Mono.just(toRejectionResult(decision))
+                        .doOnNext(rejection -> validationMetrics.record(SCAValidationMetrics.Flow.OPERATION, rejection, null)));
+            }
+            return trace.end(trace.time(SCAValidationTrace.Stage.STATEMENT, repository.validateAndConsumeChallenge(
+                            operationId, codeHasher.hash(operationId, userCode), codeHasher.plaintextFallback(userCode),
+                            attemptLimitProperties.getMaxFailedAttempts()))
+                    .doOnNext(result -> {
+                        trace.operationType(result.getOperationType());
+                        onValidationOutcome(operationId, result);
+                    })
+                    .flatMap(result -> trace.time(SCAValidationTrace.Stage.ATTEMPT_RECORDING,
+                                    recordAttempt(result, userCode, ipAddress))
+                            .then(toValidationResult(result))
+                            .doOnNext(validation -> validationMetrics.record(
+                                    SCAValidationMetrics.Flow.OPERATION, validation, result.getOperationType()))));
+        }).transform(this::scheduled);
     }
-    
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BatchValidationResultDTO> validateSCABatch(Flux<BatchValidationItemDTO> items, String ipAddress) {
+        int maxItems = batchValidationProperties.getMaxItems();
+        return items.index()
+                .flatMap(indexed -> indexed.getT1() < maxItems
+                                ? validateBatchItem(indexed.getT1(), indexed.getT2(), ipAddress)
+                                : Mono.just(batchError(indexed.getT1(), indexed.getT2(),
+                                        "SCA-BATCH-LIMIT", "Batch exceeds " + maxItems + " items")),
+                        batchValidationProperties.getConcurrency());
+    }
+
+    private Mono<BatchValidationResultDTO> validateBatchItem(long index, BatchValidationItemDTO item, String ipAddress) {
+        if (item.getOperationId() == null) {
+            return Mono.just(batchError(index, item, "SCA-INVALID", "operationId is required"));
+        }
+        return self.validateSCA(item.getOperationId(), item.getUserCode(), ipAddress)
+                .map(result -> new BatchValidationResultDTO(index, item.getOperationId(), result, null))
+                .onErrorResume(e -> Mono.just(batchError(index, item, "SCA-ERROR", e.getMessage())));
+    }
+
+    private static BatchValidationResultDTO batchError(long index, BatchValidationItemDTO item, String code, String message) {
+        SCAErrorDTO error = new SCAErrorDTO();
+        error.setErrorCode(code);
+        error.setErrorMessage(message);
+        return new BatchValidationResultDTO(index, item.getOperationId(), null, error);
+    }
+
+    /**
+     * Tells a stale version apart from a missing operation once a conditional update matched no row.
+     */
+    private <T> Mono<T> notUpdated(UUID operationId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new RuntimeException("SCA Operation not found"));
+        }
+        return repository.existsById(operationId)
+                .flatMap(exists -> Mono.error(exists
+                        ? new SCAConflictException("SCA Operation", operationId, expectedVersion)
+                        : new RuntimeException("SCA Operation not found")));
+    }
+
+    private <T> Mono<T> scheduled(Mono<T> mono) {
+        return executionModel.on(SCAExecutionProperties.Service.OPERATION, mono);
+    }
+
+    /**
+     * The signal epoch is read before the operation, so a write landing in between wakes the
+     * waiter at once instead of being missed.
+     */
+    private Mono<SCAOperationDTO> awaitStatusChange(UUID operationId, SCAStatusEnum knownStatus, long deadline) {
+        return Mono.defer(() -> {
+            long epoch = statusWaiters.epoch(operationId);
+            return findById(operationId).flatMap(operation -> {
+                SCAStatusEnum expected = knownStatus != null ? knownStatus : operation.getStatus();
+                long now = System.nanoTime();
+                if (operation.getStatus() != expected || now - deadline >= 0) {
+                    return Mono.just(operation);
+                }
+                long recheck = statusWaiters.recheckAt(operationId, now);
+                return statusWaiters.await(operationId, epoch, recheck - deadline < 0 ? recheck : deadline)
+                        .flatMap(wake -> wake == SCAStatusWaiters.Wake.REJECTED
+                                ? Mono.just(operation)
+                                : awaitStatusChange(operationId, expected, deadline));
+            });
+        });
+    }
+
+    private void onValidationOutcome(UUID operationId, SCAValidationOutcome result) {
+        boolean locked = result.getOutcome() == SCAValidationOutcome.Outcome.LOCKED;
+        attemptLimiter.record(operationId, result.getPartyId(), locked);
+        if (result.getChallengeId() != null) {
+            // the code was compared, so the statement wrote the operation
+            singleFlight.forget(SCASingleFlight.Group.OPERATION, operationId);
+        }
+        // both outcomes change the status
+        if (locked || result.getOutcome() == SCAValidationOutcome.Outcome.VERIFIED) {
+            statusWaiters.signal(operationId);
+        }
+        if (result.getOutcome() == SCAValidationOutcome.Outcome.VERIFIED) {
+            singleFlight.forget(SCASingleFlight.Group.CHALLENGE, result.getChallengeId());
+        }
+    }
+
+    /**
+     * A challenge ID is only reported when the code was actually compared.
+     */
+    private Mono<Void> recordAttempt(SCAValidationOutcome result, String userCode, String ipAddress) {
+        if (result.getChallengeId() == null) {
+            return Mono.empty();
+        }
+        boolean success = result.getOutcome() == SCAValidationOutcome.Outcome.VERIFIED;
+        return attemptRecorder.record(result.getChallengeId(), userCode, success, ipAddress);
+    }
+
+    private static ValidationResultDTO toRejectionResult(SCAAttemptLimiter.Decision decision) {
+        return decision == SCAAttemptLimiter.Decision.LOCKED
+                ? new ValidationResultDTO(false, true, "Maximum number of attempts exceeded")
+                : new ValidationResultDTO(false, true, "Too many validation attempts");
+    }
+
+    private Mono<ValidationResultDTO> toValidationResult(SCAValidationOutcome result) {
+        return switch (result.getOutcome()) {
+            case OPERATION_NOT_FOUND -> {
+                validationMetrics.record(SCAValidationMetrics.Flow.OPERATION, SCAValidationMetrics.Category.NOT_FOUND, null);
+                yield Mono.error(new RuntimeException("SCA Operation not found"));
+            }
+            case INVALID_STATE -> Mono.just(new ValidationResultDTO(
+                    false,
+                    false,
+                    "SCA Operation not in a valid state for validation"
+            ));
+            case NO_ACTIVE_CHALLENGE -> Mono.just(new ValidationResultDTO(
+                    false,
+                    false,
+                    "No active challenge found for this operation"
+            ));
+            case INVALID_CODE -> Mono.just(new ValidationResultDTO(false, false, "Invalid challenge code"));
+            case LOCKED -> Mono.just(new ValidationResultDTO(false, true, "Maximum number of attempts exceeded"));
+            case VERIFIED -> Mono.just(new ValidationResultDTO(true, false, "Challenge successfully validated"));
+        };
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.throttling;
+
+import com.firefly.core.sca.core.config.SCAAttemptLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory gate in front of code validation. Rejects attempts for operations known to be locked
+ * and attempts over the per-operation or per-party rate, without touching the database.
+ * <p>
+ * Each key holds a token bucket kept as a single AtomicLong (the generic cell rate algorithm), so
+ * admission is one compare-and-set and never blocks. The lockout itself is persisted by the
+ * validation statement; this class only remembers it so later attempts are rejected cheaply,
+ * and learns it again from the database after a restart.
+ */
+@Component
+public class SCAAttemptLimiter {
+
+    /**
+     * Why an attempt was admitted or rejected.
+     */
+    public enum Decision {
+        ALLOWED,
+        LOCKED,
+        OPERATION_THROTTLED,
+        PARTY_THROTTLED
+    }
+
+    private final SCAAttemptLimitProperties properties;
+    private final Cache<UUID, OperationState> operations;
+    private final Cache<String, TokenBucket> parties;
+    private final long origin = System.nanoTime();
+
+    private final Counter lockedRejections;
+    private final Counter operationRejections;
+    private final Counter partyRejections;
+
+    public SCAAttemptLimiter(SCAAttemptLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.operations = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTracked())
+                .expireAfterAccess(idleTimeout(properties.getOperation()))
+                .build();
+        this.parties = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTracked())
+                .expireAfterAccess(idleTimeout(properties.getParty()))
+                .build();
+        this.lockedRejections = rejections(meterRegistry, "locked");
+        this.operationRejections = rejections(meterRegistry, "operation");
+        this.partyRejections = rejections(meterRegistry, "party");
+    }
+
+    /**
+     * Decides whether a validation attempt for the operation may reach the database.
+     */
+    public Decision tryAcquire(UUID operationId) {
+        if (!properties.isEnabled()) {
+            return Decision.ALLOWED;
+        }
+        long now = System.nanoTime() - origin;
+        OperationState state = operations.get(operationId, id -> new OperationState());
+        if (state.locked) {
+            lockedRejections.increment();
+            return Decision.LOCKED;
+        }
+        if (!state.bucket.tryAcquire(now, properties.getOperation())) {
+            operationRejections.increment();
+            return Decision.OPERATION_THROTTLED;
+        }
+        String partyId = state.partyId;
+        if (partyId != null) {
+            TokenBucket partyBucket = parties.get(partyId, id -> new TokenBucket());
+            if (!partyBucket.tryAcquire(now, properties.getParty())) {
+                partyRejections.increment();
+                return Decision.PARTY_THROTTLED;
+            }
+        }
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * Records what the database reported for an attempt: the owning party, so later attempts are
+     * also charged to it, and whether the operation is now locked.
+     */
+    public void record(UUID operationId, String partyId, boolean locked) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        OperationState state = operations.get(operationId, id -> new OperationState());
+        if (partyId != null) {
+            state.partyId = partyId;
+        }
+        if (locked) {
+            state.locked = true;
+        }
+    }
+
+    /**
+     * Forgets the operation, e.g. when it is triggered again or deleted.
+     */
+    public void reset(UUID operationId) {
+        operations.invalidate(operationId);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("sca.attempts.rejected")
+                .description("Validation attempts rejected before reaching the database")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A bucket idle for longer than this is full again, so dropping it loses nothing.
+     */
+    private static Duration idleTimeout(SCAAttemptLimitProperties.Bucket bucket) {
+        return bucket.getRefillInterval().multipliedBy(Math.max(1, bucket.getCapacity()));
+    }
+
+    private static final class OperationState {
+        final TokenBucket bucket = new TokenBucket();
+        volatile String partyId;
+        volatile boolean locked;
+    }
+
+    /**
+     * Token bucket stored as the theoretical arrival time of the next attempt, in nanoseconds.
+     */
+    static final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        boolean tryAcquire(long now, SCAAttemptLimitProperties.Bucket limits) {
+            long interval = limits.getRefillInterval().toNanos();
+            long tolerance = interval * (limits.getCapacity() - 1L);
+            while (true) {
+                long current = theoreticalArrival.get();
+                long base = Math.max(current, now);
+                if (base - now > tolerance) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(current, base + interval)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.utils;
+
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Keyset pagination over (timestamp, id) ordered listings.
+ * Pages seek past the last returned key instead of using OFFSET, so every page
+ * costs the same regardless of its depth. Cursors are opaque base64url tokens.
+ */
+public final class CursorPaginationUtils {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 500;
+
+    private static final char SEPARATOR = '|';
+
+    private CursorPaginationUtils() {
+    }
+
+    /**
+     * Position of the last element of a page, i.e. the key to seek past.
+     */
+    public record Cursor(LocalDateTime time, UUID id) {
+    }
+
+    /**
+     * @param request        the cursor request (cursor, size, includeTotal)
+     * @param mapper         entity to DTO mapper
+     * @param keyExtractor   extracts the (timestamp, id) key of an entity
+     * @param firstPageQuery query for the first page, receives the row limit
+     * @param nextPageQuery  query for the rows after the given cursor, receives the row limit
+     * @param countQuery     total count, only executed when requested
+     */
+    public static <E, D> Mono<CursorPaginationResponse<D>> paginateQuery(
+            CursorPaginationRequest request,
+            Function<E, D> mapper,
+            Function<E, Cursor> keyExtractor,
+            IntFunction<Flux<E>> firstPageQuery,
+            BiFunction<Cursor, Integer, Flux<E>> nextPageQuery,
+            Supplier<Mono<Long>> countQuery
+    ) {
+        int size = resolveSize(request);
+        String token = request != null ? request.getCursor() : null;
+
+        // One extra row tells us whether another page exists without a count query
+        Mono<List<E>> rows = Mono.defer(() -> (token == null || token.isBlank()
+                        ? firstPageQuery.apply(size + 1)
+                        : nextPageQuery.apply(decode(token), size + 1))
+                .collectList());
+
+        Mono<Long> total = request != null && Boolean.TRUE.equals(request.getIncludeTotal())
+                ? countQuery.get()
+                : Mono.empty();
+
+        return rows.zipWith(total.defaultIfEmpty(-1L), (page, count) -> {
+            boolean hasNext = page.size() > size;
+            List<E> content = hasNext ? page.subList(0, size) : page;
+            String nextCursor = hasNext ? encode(keyExtractor.apply(content.get(content.size() - 1))) : null;
+            return new CursorPaginationResponse<>(
+                    content.stream().map(mapper).toList(),
+                    nextCursor,
+                    count >= 0 ? count : null
+            );
+        });
+    }
+
+    public static String encode(Cursor cursor) {
+        String raw = cursor.time().toString() + SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+    }
+
+    private static int resolveSize(CursorPaginationRequest request) {
+        if (request == null || request.getSize() == null || request.getSize() <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(request.getSize(), MAX_SIZE);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.core.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.sca.core.config.SCAPipelineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindPipelineTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @TempDir
+    Path spoolDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TestPipeline pipeline;
+
+    @AfterEach
+    void stopPipeline() {
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+    }
+
+    @Test
+    void replaysSpoolOnceDatabaseRecoversWhileIdle() throws Exception {
+        pipeline = new TestPipeline(properties(spoolDirectory.toString()));
+        pipeline.available.set(false);
+        pipeline.afterPropertiesSet();
+
+        for (String record : List.of("a", "b", "c")) {
+            pipeline.submit(record).block(TIMEOUT);
+        }
+        Path spool = spoolDirectory.resolve("test").resolve("test.spool");
+        waitUntil(() -> Files.exists(spool));
+
+        // idle: nothing is submitted while the database is down, and nothing gets written
+        Thread.sleep(200);
+        assertThat(pipeline.stored).isEmpty();
+
+        pipeline.available.set(true);
+        waitUntil(() -> pipeline.stored.size() == 3 && !Files.exists(spool));
+        assertThat(pipeline.stored).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(meterRegistry.get("sca.pipeline.records").tag("result", "written").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void createsSpoolFilesReadableByOwnerOnly() throws Exception {
+        Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        pipeline = new TestPipeline(properties(spoolDirectory.toString()));
+        pipeline.available.set(false);
+        pipeline.afterPropertiesSet();
+
+        pipeline.submit("a").block(TIMEOUT);
+        Path spool = spoolDirectory.resolve("test").resolve("test.spool");
+        waitUntil(() -> Files.exists(spool));
+
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(spool.getParent())))
+                .isEqualTo("rwx------");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(spool))).isEqualTo("rw-------");
+    }
+
+    @Test
+    void refusesToStartWithoutSpoolDirectory() {
+        TestPipeline unconfigured = new TestPipeline(properties(null));
+
+        assertThatThrownBy(unconfigured::afterPropertiesSet)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spool directory");
+    }
+
+    private static SCAPipelineProperties.WriteBehind properties(String spoolDirectory) {
+        SCAPipelineProperties.WriteBehind properties = new SCAPipelineProperties.WriteBehind();
+        properties.setEnabled(true);
+        properties.setBatchSize(10);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        properties.getSpool().setEnabled(true);
+        properties.getSpool().setDirectory(spoolDirectory);
+        return properties;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition met within %s", TIMEOUT).isNegative();
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Stores records in memory, or fails like an unreachable database while unavailable.
+     */
+    private final class TestPipeline extends WriteBehindPipeline<String> {
+
+        private final AtomicBoolean available = new AtomicBoolean(true);
+        private final List<String> stored = new CopyOnWriteArrayList<>();
+
+        private TestPipeline(SCAPipelineProperties.WriteBehind properties) {
+            super("test", String.class, properties, new ObjectMapper(), meterRegistry);
+        }
+
+        @Override
+        protected Mono<Long> writeBatch(List<String> batch) {
+            return Mono.defer(() -> {
+                if (!available.get()) {
+                    return Mono.error(new TransientDataAccessResourceException("database is down"));
+                }
+                stored.addAll(batch);
+                return Mono.just((long) batch.size());
+            });
+        }
+    }
+}
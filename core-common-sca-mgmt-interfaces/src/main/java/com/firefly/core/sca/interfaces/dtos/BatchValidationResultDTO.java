@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.interfaces.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a batch validation. Results are streamed as they complete,
+ * so they may arrive in a different order than the request items.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+public class BatchValidationResultDTO {
+
+    /**
+     * Zero-based position of the item in the request.
+     */
+    private long index;
+
+    private UUID operationId;
+
+    /**
+     * Same result as the single validate call, or null when the item failed.
+     */
+    private ValidationResultDTO result;
+
+    /**
+     * Why the item could not be validated (e.g. unknown operation), or null.
+     */
+    private SCAErrorDTO error;
+}
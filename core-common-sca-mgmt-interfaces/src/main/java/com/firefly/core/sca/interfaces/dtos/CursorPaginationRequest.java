@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.interfaces.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Request for cursor (keyset) based listings.
+ * The first page is requested without a cursor; following pages pass the
+ * nextCursor returned by the previous response.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+public class CursorPaginationRequest {
+
+    /**
+     * Opaque continuation token from a previous response, or null for the first page.
+     */
+    private String cursor;
+
+    /**
+     * Maximum number of elements to return (defaults to 20, capped at 500).
+     */
+    private Integer size;
+
+    /**
+     * Whether the total number of elements should be counted.
+     * Off by default so that large listings page in constant time.
+     */
+    private Boolean includeTotal;
+}
@@ -45,5 +45,10 @@ public class SCAChallengeDTO {
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
     private Boolean used;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime retiredAt; // set when the challenge left the active set unused: expired, or superseded by a trigger
+
+    private Long version; // send back on update to reject changes made since it was read
 }
 
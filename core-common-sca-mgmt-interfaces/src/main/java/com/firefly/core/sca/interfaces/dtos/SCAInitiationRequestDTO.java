@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.interfaces.dtos;
+
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request to start SCA for a business operation in one call.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+public class SCAInitiationRequestDTO {
+
+    /**
+     * Reference of the business operation (e.g. the transfer ID).
+     */
+    private String referenceId;
+
+    private SCAOperationTypeEnum operationType;
+
+    private String partyId;
+
+    /**
+     * When the operation expires; defaults to the expiry of the generated challenge.
+     */
+    private LocalDateTime expiresAt;
+}
@@ -54,5 +54,10 @@ public class SCAOperationDTO {
     private LocalDateTime expiresAt;
     private LocalDateTime lastUpdated;
     private LocalDateTime cancelledAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer failedAttempts;
+
+    private Long version; // send back on update to reject changes made since it was read
 }
 
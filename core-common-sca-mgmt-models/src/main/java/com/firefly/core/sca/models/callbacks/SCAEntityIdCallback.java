@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.callbacks;
+
+import com.firefly.core.sca.models.entities.SCAAttempt;
+import com.firefly.core.sca.models.entities.SCAAudit;
+import com.firefly.core.sca.models.entities.SCAChallenge;
+import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.entities.SCAOperationHistory;
+import com.firefly.core.sca.models.utils.UUIDv7Generator;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Assigns time-ordered UUIDv7 primary keys to new SCA entities right before they are inserted.
+ * Sequential keys keep inserts on the right-most B-tree pages instead of scattering them.
+ */
+@Component
+public class SCAEntityIdCallback implements BeforeConvertCallback<Object> {
+
+    @Override
+    public Publisher<Object> onBeforeConvert(Object entity, SqlIdentifier table) {
+        switch (entity) {
+            case SCAOperation operation when operation.getId() == null -> operation.setId(UUIDv7Generator.next());
+            case SCAChallenge challenge when challenge.getId() == null -> challenge.setId(UUIDv7Generator.next());
+            case SCAAttempt attempt when attempt.getId() == null -> attempt.setId(UUIDv7Generator.next());
+            case SCAAudit audit when audit.getId() == null -> audit.setId(UUIDv7Generator.next());
+            case SCAOperationHistory history when history.getId() == null -> history.setId(UUIDv7Generator.next());
+            default -> {
+            }
+        }
+        return Mono.just(entity);
+    }
+}
@@ -19,6 +19,7 @@ package com.firefly.core.sca.models.entities;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -50,4 +51,11 @@ public class SCAChallenge {
 
     @Column("used")
     private Boolean used; // flag indicating if the code was used
+
+    @Column("retired_at")
+    private LocalDateTime retiredAt; // set when the challenge left the active set unused: expired, or superseded by a trigger
+
+    @Version
+    @Column("version")
+    private Long version; // incremented by every write, null until inserted
 }
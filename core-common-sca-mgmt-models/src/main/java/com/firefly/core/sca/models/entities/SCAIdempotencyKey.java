@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.entities;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An Idempotency-Key seen on a create request, with the response it produced once completed.
+ */
+@Data
+@Table("sca_idempotency_key")
+public class SCAIdempotencyKey {
+
+    @Id
+    @Column("id")
+    private String id; // "<scope>:<Idempotency-Key>"
+
+    @Column("request_hash")
+    private String requestHash; // SHA-256 of the request body, so a key reused for another request is detected
+
+    @Column("claim_token")
+    private UUID claimToken; // request currently executing, null once completed
+
+    @Column("response_body")
+    private String responseBody; // JSON response, null while the request is executing
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -21,6 +21,7 @@ import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
 import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -61,4 +62,11 @@ public class SCAOperation {
 
     @Column("cancelled_at")
     private LocalDateTime cancelledAt;
+
+    @Column("failed_attempts")
+    private Integer failedAttempts;
+
+    @Version
+    @Column("version")
+    private Long version; // incremented by every write, null until inserted
 }
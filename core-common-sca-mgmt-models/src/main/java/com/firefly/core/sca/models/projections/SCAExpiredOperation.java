@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.projections;
+
+import lombok.Data;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An operation moved to EXPIRED by SCAOperationRepository#expirePendingOperations.
+ */
+@Data
+public class SCAExpiredOperation {
+
+    @Column("id")
+    private UUID id;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.projections;
+
+import com.firefly.core.sca.interfaces.enums.SCAOperationTypeEnum;
+import lombok.Data;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.util.UUID;
+
+/**
+ * Result row of the single-statement SCA validation
+ * (see SCAOperationRepository#validateAndConsumeChallenge).
+ */
+@Data
+public class SCAValidationOutcome {
+
+    @Column("outcome")
+    private Outcome outcome;
+
+    @Column("challenge_id")
+    private UUID challengeId; // the challenge that was checked, if any
+
+    @Column("party_id")
+    private String partyId;
+
+    @Column("operation_type")
+    private SCAOperationTypeEnum operationType;
+
+    @Column("failed_attempts")
+    private Integer failedAttempts; // wrong codes so far, after this attempt
+
+    public enum Outcome {
+        OPERATION_NOT_FOUND,   // no sca_operation row with the given ID
+        INVALID_STATE,         // operation is not PENDING
+        NO_ACTIVE_CHALLENGE,   // no unused, unexpired challenge for the operation
+        INVALID_CODE,          // code did not match, operation stays PENDING
+        LOCKED,                // maximum number of wrong codes reached, operation is FAILED
+        VERIFIED               // challenge consumed, operation moved to VERIFIED
+    }
+}
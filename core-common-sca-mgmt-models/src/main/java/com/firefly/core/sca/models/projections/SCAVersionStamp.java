@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.projections;
+
+import lombok.Data;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns that tell whether a row changed, read instead of the row to answer conditional GETs.
+ */
+@Data
+public class SCAVersionStamp {
+
+    @Column("id")
+    private UUID id;
+
+    @Column("sca_operation_id")
+    private UUID scaOperationId; // challenges only
+
+    @Column("version")
+    private Long version;
+
+    @Column("last_updated")
+    private LocalDateTime lastUpdated; // operations only
+}
@@ -19,11 +19,78 @@ package com.firefly.core.sca.models.repositories;
 
 import com.firefly.core.sca.models.entities.SCAAttempt;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface SCAAttemptRepository extends BaseRepository<SCAAttempt, UUID> {
     Flux<SCAAttempt> findAllByScaChallengeId(UUID scaChallengeId, Pageable pageable);
     Mono<Long> countByScaChallengeId(UUID scaChallengeId);
+
+    /**
+     * Replaces an attempt of the given challenge. Returns the updated row, or nothing when the
+     * attempt does not exist or belongs to another challenge.
+     */
+    @Query("""
+        UPDATE sca_attempt
+           SET attempt_value = :attemptValue,
+               attempted_at = COALESCE(:attemptedAt, attempted_at),
+               success = COALESCE(:success, success),
+               ip_address = :ipAddress
+         WHERE id = :attemptId
+           AND sca_challenge_id = :challengeId
+        RETURNING *
+    """)
+    Mono<SCAAttempt> updateAttempt(UUID attemptId, UUID challengeId, String attemptValue,
+                                   LocalDateTime attemptedAt, Boolean success, String ipAddress);
+
+    /**
+     * Returns the deleted attempt ID, or nothing when the attempt does not exist or belongs
+     * to another challenge.
+     */
+    @Query("DELETE FROM sca_attempt WHERE id = :attemptId AND sca_challenge_id = :challengeId RETURNING id")
+    Mono<UUID> deleteByIdAndChallengeId(UUID attemptId, UUID challengeId);
+
+    /**
+     * First page of a keyset listing, newest first.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_attempt
+         WHERE sca_challenge_id = :scaChallengeId
+         ORDER BY attempted_at DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAAttempt> findFirstPageByScaChallengeId(UUID scaChallengeId, int limit);
+
+    /**
+     * Keyset page of the rows that sort after the given (attempted_at, id) cursor.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_attempt
+         WHERE sca_challenge_id = :scaChallengeId
+           AND (attempted_at, id) < (:afterTime, :afterId)
+         ORDER BY attempted_at DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAAttempt> findPageByScaChallengeIdAfter(UUID scaChallengeId, LocalDateTime afterTime, UUID afterId, int limit);
+
+    /**
+     * Multi-row insert used by the attempt write-behind pipeline.
+     * The arrays are parallel columns; the statement text is the same for every batch size.
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO sca_attempt (id, sca_challenge_id, attempt_value, attempted_at, success, ip_address)
+        SELECT t.id, t.sca_challenge_id, t.attempt_value, t.attempted_at, t.success, t.ip_address
+          FROM unnest(:ids, :challengeIds, :attemptValues, :attemptedAts, :successes, :ipAddresses)
+               AS t(id, sca_challenge_id, attempt_value, attempted_at, success, ip_address)
+    """)
+    Mono<Long> insertAll(UUID[] ids, UUID[] challengeIds, String[] attemptValues,
+                         LocalDateTime[] attemptedAts, Boolean[] successes, String[] ipAddresses);
 }
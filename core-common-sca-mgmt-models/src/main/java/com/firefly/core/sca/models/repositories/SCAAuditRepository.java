@@ -19,11 +19,82 @@ package com.firefly.core.sca.models.repositories;
 
 import com.firefly.core.sca.models.entities.SCAAudit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface SCAAuditRepository extends BaseRepository<SCAAudit, UUID> {
     Flux<SCAAudit> findAllByScaOperationId(UUID scaOperationId, Pageable pageable);
     Mono<Long> countByScaOperationId(UUID scaOperationId);
+
+    /**
+     * Replaces an audit event of the given operation. Returns the updated row, or nothing when the
+     * event does not exist or belongs to another operation.
+     */
+    @Query("""
+        UPDATE sca_audit
+           SET sca_challenge_id = :challengeId,
+               party_id = :partyId,
+               event_type = CAST(:eventType AS sca_audit_event_type_enum),
+               event_time = COALESCE(:eventTime, event_time),
+               details = :details
+         WHERE id = :auditId
+           AND sca_operation_id = :operationId
+        RETURNING *
+    """)
+    Mono<SCAAudit> updateAudit(UUID auditId, UUID operationId, UUID challengeId, String partyId,
+                               String eventType, LocalDateTime eventTime, String details);
+
+    /**
+     * Returns the deleted event ID, or nothing when the event does not exist or belongs to
+     * another operation.
+     */
+    @Query("DELETE FROM sca_audit WHERE id = :auditId AND sca_operation_id = :operationId RETURNING id")
+    Mono<UUID> deleteByIdAndOperationId(UUID auditId, UUID operationId);
+
+    /**
+     * First page of a keyset listing, newest first.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_audit
+         WHERE sca_operation_id = :scaOperationId
+         ORDER BY event_time DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAAudit> findFirstPageByScaOperationId(UUID scaOperationId, int limit);
+
+    /**
+     * Keyset page of the rows that sort after the given (event_time, id) cursor.
+     * The plain event_time bound lets the planner prune newer monthly partitions.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_audit
+         WHERE sca_operation_id = :scaOperationId
+           AND event_time <= :afterTime
+           AND (event_time, id) < (:afterTime, :afterId)
+         ORDER BY event_time DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAAudit> findPageByScaOperationIdAfter(UUID scaOperationId, LocalDateTime afterTime, UUID afterId, int limit);
+
+    /**
+     * Multi-row insert used by the audit write-behind pipeline.
+     * The arrays are parallel columns; the statement text is the same for every batch size.
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO sca_audit (id, sca_operation_id, sca_challenge_id, party_id, event_type, event_time, details)
+        SELECT t.id, t.sca_operation_id, t.sca_challenge_id, t.party_id,
+               t.event_type::sca_audit_event_type_enum, t.event_time, t.details
+          FROM unnest(:ids, :operationIds, :challengeIds, :partyIds, :eventTypes, :eventTimes, :details)
+               AS t(id, sca_operation_id, sca_challenge_id, party_id, event_type, event_time, details)
+    """)
+    Mono<Long> insertAll(UUID[] ids, UUID[] operationIds, UUID[] challengeIds, String[] partyIds,
+                         String[] eventTypes, LocalDateTime[] eventTimes, String[] details);
 }
@@ -18,10 +18,14 @@
 package com.firefly.core.sca.models.repositories;
 
 import com.firefly.core.sca.models.entities.SCAChallenge;
+import com.firefly.core.sca.models.projections.SCAVersionStamp;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface SCAChallengeRepository extends BaseRepository<SCAChallenge, UUID> {
@@ -35,9 +39,123 @@ public interface SCAChallengeRepository extends BaseRepository<SCAChallenge, UUI
           FROM sca_challenge
          WHERE sca_operation_id = :operationId
            AND used = FALSE
+           AND retired_at IS NULL
            AND expires_at > CURRENT_TIMESTAMP
+         ORDER BY expires_at DESC
          LIMIT 1
     """)
-    Mono<SCAChallenge> findActiveChallengeForOperation(UUID scaOperationId);
+    Mono<SCAChallenge> findActiveChallengeForOperation(UUID operationId);
     Mono<Long> countByScaOperationId(UUID scaOperationId);
-}
\ No newline at end of file
+    Mono<Boolean> existsByIdAndScaOperationId(UUID id, UUID scaOperationId);
+
+    /**
+     * Reads only the operation and version of a challenge, for conditional GETs.
+     */
+    @Query("SELECT id, sca_operation_id, version FROM sca_challenge WHERE id = :challengeId")
+    Mono<SCAVersionStamp> findVersionStampById(UUID challengeId);
+
+    /**
+     * Replaces a challenge of the given operation; a null code keeps the stored one. With an
+     * expectedVersion the row is only written while it still has that version. Returns the updated row, or nothing when the challenge does
+     * not exist, belongs to another operation or has moved on.
+     */
+    @Query("""
+        UPDATE sca_challenge
+           SET challenge_code = COALESCE(:challengeCode, challenge_code),
+               created_at = COALESCE(:createdAt, created_at),
+               expires_at = :expiresAt,
+               used = COALESCE(:used, used),
+               version = version + 1
+         WHERE id = :challengeId
+           AND sca_operation_id = :operationId
+           AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+        RETURNING *
+    """)
+    Mono<SCAChallenge> updateChallenge(UUID challengeId, UUID operationId, String challengeCode,
+                                       LocalDateTime createdAt, LocalDateTime expiresAt, Boolean used,
+                                       Long expectedVersion);
+
+    /**
+     * Flags an unused challenge as used. Returns its ID, or nothing when it was already used or
+     * retired, so concurrent validations consume a challenge at most once.
+     */
+    @Query("""
+        UPDATE sca_challenge
+           SET used = TRUE,
+               version = version + 1
+         WHERE id = :challengeId
+           AND used = FALSE
+           AND retired_at IS NULL
+        RETURNING id
+    """)
+    Mono<UUID> consume(UUID challengeId);
+
+    /**
+     * Returns the deleted challenge ID, or nothing when the challenge does not exist or belongs
+     * to another operation.
+     */
+    @Query("DELETE FROM sca_challenge WHERE id = :challengeId AND sca_operation_id = :operationId RETURNING id")
+    Mono<UUID> deleteByIdAndOperationId(UUID challengeId, UUID operationId);
+
+    /**
+     * Number of unused, unexpired challenges across all operations.
+     */
+    @Query("""
+        SELECT COUNT(*)
+          FROM sca_challenge
+         WHERE used = FALSE
+           AND retired_at IS NULL
+           AND expires_at > CURRENT_TIMESTAMP
+    """)
+    Mono<Long> countActive();
+
+    /**
+     * Retires up to chunkSize unused challenges past their expires_at by setting retired_at,
+     * which keeps the partial active-challenge index small; used stays FALSE. Oldest first, through
+     * idx_sca_challenge_active_expiry; locked rows are skipped.
+     */
+    @Modifying
+    @Query("""
+        WITH expired AS (
+            SELECT id
+              FROM sca_challenge
+             WHERE used = FALSE
+               AND retired_at IS NULL
+               AND expires_at <= CURRENT_TIMESTAMP
+             ORDER BY expires_at
+             LIMIT :chunkSize
+               FOR UPDATE SKIP LOCKED
+        )
+        UPDATE sca_challenge c
+           SET retired_at = CURRENT_TIMESTAMP,
+               version = c.version + 1
+          FROM expired
+         WHERE c.id = expired.id
+    """)
+    Mono<Long> retireExpiredChallenges(int chunkSize);
+
+    /**
+     * First page of a keyset listing, newest first.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_challenge
+         WHERE sca_operation_id = :scaOperationId
+         ORDER BY created_at DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAChallenge> findFirstPageByScaOperationId(UUID scaOperationId, int limit);
+
+    /**
+     * Keyset page of the rows that sort after the given (created_at, id) cursor.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_challenge
+         WHERE sca_operation_id = :scaOperationId
+           AND (created_at, id) < (:afterTime, :afterId)
+         ORDER BY created_at DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAChallenge> findPageByScaOperationIdAfter(UUID scaOperationId, LocalDateTime afterTime, UUID afterId, int limit);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.repositories;
+
+import com.firefly.core.sca.models.entities.SCAIdempotencyKey;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface SCAIdempotencyKeyRepository extends BaseRepository<SCAIdempotencyKey, String> {
+
+    /**
+     * Claims a key for one request. Succeeds for a new key, for an expired one, and for one whose
+     * holder let its lease run out without completing. Returns the key when claimed, or nothing
+     * when another request is executing or has completed under it. The lease and expiry are taken
+     * from the database clock, which every check against them uses.
+     */
+    @Query("""
+        INSERT INTO sca_idempotency_key (id, request_hash, claim_token, created_at, lease_until, expires_at)
+        VALUES (:id, :requestHash, :claimToken, CURRENT_TIMESTAMP,
+                CURRENT_TIMESTAMP + :leaseMillis * INTERVAL '1 millisecond',
+                CURRENT_TIMESTAMP + :ttlMillis * INTERVAL '1 millisecond')
+        ON CONFLICT (id) DO UPDATE
+           SET request_hash = EXCLUDED.request_hash,
+               claim_token = EXCLUDED.claim_token,
+               response_body = NULL,
+               created_at = EXCLUDED.created_at,
+               lease_until = EXCLUDED.lease_until,
+               expires_at = EXCLUDED.expires_at
+         WHERE sca_idempotency_key.expires_at <= CURRENT_TIMESTAMP
+            OR (sca_idempotency_key.response_body IS NULL
+                AND sca_idempotency_key.lease_until <= CURRENT_TIMESTAMP)
+        RETURNING id
+    """)
+    Mono<String> claim(String id, String requestHash, UUID claimToken, long leaseMillis, long ttlMillis);
+
+    /**
+     * Stores the response of a claimed key. Returns 0 when the claim was taken over meanwhile.
+     */
+    @Modifying
+    @Query("""
+        UPDATE sca_idempotency_key
+           SET response_body = :responseBody,
+               claim_token = NULL,
+               lease_until = NULL
+         WHERE id = :id
+           AND claim_token = :claimToken
+    """)
+    Mono<Long> complete(String id, UUID claimToken, String responseBody);
+
+    /**
+     * Drops an unfinished claim after its request failed, so a retry executes again.
+     */
+    @Modifying
+    @Query("DELETE FROM sca_idempotency_key WHERE id = :id AND claim_token = :claimToken")
+    Mono<Long> release(String id, UUID claimToken);
+
+    /**
+     * Deletes up to chunkSize expired keys, skipping rows locked by other callers.
+     */
+    @Modifying
+    @Query("""
+        WITH expired AS (
+            SELECT id
+              FROM sca_idempotency_key
+             WHERE expires_at <= CURRENT_TIMESTAMP
+             LIMIT :chunkSize
+               FOR UPDATE SKIP LOCKED
+        )
+        DELETE FROM sca_idempotency_key k
+         USING expired
+         WHERE k.id = expired.id
+    """)
+    Mono<Long> purgeExpired(int chunkSize);
+}
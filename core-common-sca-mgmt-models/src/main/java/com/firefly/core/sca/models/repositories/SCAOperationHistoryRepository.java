@@ -19,11 +19,64 @@ package com.firefly.core.sca.models.repositories;
 
 import com.firefly.core.sca.models.entities.SCAOperationHistory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface SCAOperationHistoryRepository extends BaseRepository<SCAOperationHistory, UUID> {
     Flux<SCAOperationHistory> findAllByScaOperationId(UUID scaOperationId, Pageable pageable);
     Mono<Long> countByScaOperationId(UUID scaOperationId);
+
+    /**
+     * Replaces a history entry of the given operation. Returns the updated row, or nothing when
+     * the entry does not exist or belongs to another operation.
+     */
+    @Query("""
+        UPDATE sca_operation_history
+           SET status = CAST(:status AS sca_status_enum),
+               event_time = COALESCE(:eventTime, event_time),
+               comments = :comments
+         WHERE id = :historyId
+           AND sca_operation_id = :operationId
+        RETURNING *
+    """)
+    Mono<SCAOperationHistory> updateHistory(UUID historyId, UUID operationId, String status,
+                                            LocalDateTime eventTime, String comments);
+
+    /**
+     * Returns the deleted entry ID, or nothing when the entry does not exist or belongs to
+     * another operation.
+     */
+    @Query("DELETE FROM sca_operation_history WHERE id = :historyId AND sca_operation_id = :operationId RETURNING id")
+    Mono<UUID> deleteByIdAndOperationId(UUID historyId, UUID operationId);
+
+    /**
+     * First page of a keyset listing, newest first.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_operation_history
+         WHERE sca_operation_id = :scaOperationId
+         ORDER BY event_time DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAOperationHistory> findFirstPageByScaOperationId(UUID scaOperationId, int limit);
+
+    /**
+     * Keyset page of the rows that sort after the given (event_time, id) cursor.
+     * The plain event_time bound lets the planner prune newer monthly partitions.
+     */
+    @Query("""
+        SELECT *
+          FROM sca_operation_history
+         WHERE sca_operation_id = :scaOperationId
+           AND event_time <= :afterTime
+           AND (event_time, id) < (:afterTime, :afterId)
+         ORDER BY event_time DESC, id DESC
+         LIMIT :limit
+    """)
+    Flux<SCAOperationHistory> findPageByScaOperationIdAfter(UUID scaOperationId, LocalDateTime afterTime, UUID afterId, int limit);
 }
@@ -18,7 +18,283 @@
 package com.firefly.core.sca.models.repositories;
 
 import com.firefly.core.sca.models.entities.SCAOperation;
+import com.firefly.core.sca.models.projections.SCAExpiredOperation;
+import com.firefly.core.sca.models.projections.SCAValidationOutcome;
+import com.firefly.core.sca.models.projections.SCAVersionStamp;
+import org.springframework.data.r2dbc.repository.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface SCAOperationRepository extends BaseRepository<SCAOperation, UUID> {
+
+    /**
+     * Validates a user code against the active challenge of a PENDING operation in a single statement.
+     * The stored code is compared with codeDigest; rows still holding a plaintext code (no "h1:"
+     * prefix) are compared with plaintextCode instead, which may be null to reject them.
+     * Locks the operation row and consumes the challenge when the code matches, moving the operation
+     * to VERIFIED. A wrong code increments failed_attempts and moves the operation to FAILED once
+     * maxAttempts is reached. Concurrent callers serialize on the operation row, so a challenge is
+     * consumed at most once.
+     */
+    @Query("""
+        WITH existing AS (
+            SELECT id, party_id, operation_type, status, failed_attempts
+              FROM sca_operation
+             WHERE id = :operationId
+        ),
+        op AS (
+            SELECT id, failed_attempts
+              FROM sca_operation
+             WHERE id = :operationId
+               AND status = 'PENDING'
+               FOR UPDATE
+        ),
+        challenge AS (
+            SELECT c.id, c.challenge_code
+              FROM sca_challenge c
+              JOIN op ON op.id = c.sca_operation_id
+             WHERE c.used = FALSE
+               AND c.retired_at IS NULL
+               AND c.expires_at > CURRENT_TIMESTAMP
+             ORDER BY c.expires_at DESC
+             LIMIT 1
+               FOR UPDATE OF c
+        ),
+        consumed AS (
+            UPDATE sca_challenge c
+               SET used = TRUE,
+                   version = c.version + 1
+              FROM challenge
+             WHERE c.id = challenge.id
+               AND (challenge.challenge_code = :codeDigest
+                    OR (challenge.challenge_code NOT LIKE 'h1:%' AND challenge.challenge_code = :plaintextCode))
+            RETURNING c.id
+        ),
+        guessed AS (
+            UPDATE sca_challenge c
+               SET last_failed_at = CURRENT_TIMESTAMP
+              FROM challenge
+             WHERE c.id = challenge.id
+               AND NOT EXISTS (SELECT 1 FROM consumed)
+        ),
+        transitioned AS (
+            UPDATE sca_operation o
+               SET status = CASE WHEN EXISTS (SELECT 1 FROM consumed) THEN 'VERIFIED'::sca_status_enum
+                                 WHEN op.failed_attempts + 1 >= :maxAttempts THEN 'FAILED'::sca_status_enum
+                                 ELSE o.status
+                            END,
+                   failed_attempts = CASE WHEN EXISTS (SELECT 1 FROM consumed) THEN op.failed_attempts
+                                          ELSE op.failed_attempts + 1
+                                     END,
+                   last_updated = CURRENT_TIMESTAMP,
+                   version = o.version + 1
+              FROM op, challenge
+             WHERE o.id = op.id
+            RETURNING o.status, o.failed_attempts
+        )
+        SELECT CASE
+                 WHEN NOT EXISTS (SELECT 1 FROM existing) THEN 'OPERATION_NOT_FOUND'
+                 WHEN NOT EXISTS (SELECT 1 FROM op) THEN
+                     CASE WHEN EXISTS (SELECT 1 FROM existing
+                                        WHERE status = 'FAILED' AND failed_attempts >= :maxAttempts)
+                          THEN 'LOCKED'
+                          ELSE 'INVALID_STATE'
+                     END
+                 WHEN NOT EXISTS (SELECT 1 FROM challenge) THEN 'NO_ACTIVE_CHALLENGE'
+                 WHEN EXISTS (SELECT 1 FROM consumed) THEN 'VERIFIED'
+                 WHEN EXISTS (SELECT 1 FROM transitioned WHERE status = 'FAILED') THEN 'LOCKED'
+                 ELSE 'INVALID_CODE'
+               END AS outcome,
+               (SELECT id FROM challenge) AS challenge_id,
+               (SELECT party_id FROM existing) AS party_id,
+               (SELECT operation_type::text FROM existing) AS operation_type,
+               COALESCE((SELECT failed_attempts FROM transitioned),
+                        (SELECT failed_attempts FROM existing)) AS failed_attempts
+    """)
+    Mono<SCAValidationOutcome> validateAndConsumeChallenge(UUID operationId, String codeDigest, String plaintextCode,
+                                                           int maxAttempts);
+
+    /**
+     * Records a wrong code entered against a challenge of a PENDING operation, marking the challenge
+     * as guessed at and moving the operation to FAILED once maxAttempts is reached.
+     * Returns the new number of failed attempts, or nothing when the operation is not PENDING.
+     */
+    @Query("""
+        WITH failed AS (
+            UPDATE sca_operation
+               SET failed_attempts = failed_attempts + 1,
+                   status = CASE WHEN failed_attempts + 1 >= :maxAttempts
+                                 THEN 'FAILED'::sca_status_enum
+                                 ELSE status
+                            END,
+                   last_updated = CURRENT_TIMESTAMP,
+                   version = version + 1
+             WHERE id = :operationId
+               AND status = 'PENDING'
+            RETURNING id, failed_attempts
+        ),
+        guessed AS (
+            UPDATE sca_challenge c
+               SET last_failed_at = CURRENT_TIMESTAMP
+              FROM failed
+             WHERE c.id = :challengeId
+               AND c.sca_operation_id = failed.id
+        )
+        SELECT failed_attempts
+          FROM failed
+    """)
+    Mono<Integer> registerFailedAttempt(UUID operationId, UUID challengeId, int maxAttempts);
+
+    /**
+     * Replaces the client-editable columns of an operation; created_at and failed_attempts are kept.
+     * With an expectedVersion the row is only written while it still has that version.
+     * Returns the updated row, or nothing when the operation does not exist or has moved on.
+     */
+    @Query("""
+        UPDATE sca_operation
+           SET reference_id = :referenceId,
+               operation_type = CAST(:operationType AS sca_operation_type_enum),
+               party_id = :partyId,
+               status = CAST(:status AS sca_status_enum),
+               expires_at = :expiresAt,
+               cancelled_at = :cancelledAt,
+               last_updated = CURRENT_TIMESTAMP,
+               version = version + 1
+         WHERE id = :operationId
+           AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+        RETURNING *
+    """)
+    Mono<SCAOperation> updateOperation(UUID operationId, String referenceId, String operationType, String partyId,
+                                       String status, LocalDateTime expiresAt, LocalDateTime cancelledAt,
+                                       Long expectedVersion);
+
+    /**
+     * Moves an operation back to PENDING with a fresh attempt count. In the same statement, unused
+     * challenges a wrong code was entered against are retired, so the reset never grants new
+     * guesses at a code that was already guessed at; challenges not guessed at stay active.
+     * Returns the operation ID, or nothing when the operation does not exist.
+     */
+    @Query("""
+        WITH op AS (
+            SELECT id
+              FROM sca_operation
+             WHERE id = :operationId
+               FOR UPDATE
+        ),
+        retired AS (
+            UPDATE sca_challenge c
+               SET retired_at = CURRENT_TIMESTAMP,
+                   version = c.version + 1
+              FROM op
+             WHERE c.sca_operation_id = op.id
+               AND c.used = FALSE
+               AND c.retired_at IS NULL
+               AND c.last_failed_at IS NOT NULL
+        )
+        UPDATE sca_operation o
+           SET status = 'PENDING'::sca_status_enum,
+               failed_attempts = 0,
+               last_updated = CURRENT_TIMESTAMP,
+               version = o.version + 1
+          FROM op
+         WHERE o.id = op.id
+        RETURNING o.id
+    """)
+    Mono<UUID> trigger(UUID operationId);
+
+    /**
+     * Reads only the version and last update of an operation, for conditional GETs.
+     */
+    @Query("SELECT id, version, last_updated FROM sca_operation WHERE id = :operationId")
+    Mono<SCAVersionStamp> findVersionStampById(UUID operationId);
+
+    /**
+     * Returns the deleted operation ID, or nothing when the operation does not exist.
+     */
+    @Query("DELETE FROM sca_operation WHERE id = :operationId RETURNING id")
+    Mono<UUID> deleteReturningId(UUID operationId);
+
+    /**
+     * Creates a PENDING operation with its first challenge, the initial history row and the
+     * CREATED audit row in one statement. The child rows are only written when the operation
+     * insert succeeded; returns the number of challenges written (1).
+     */
+    @Query("""
+        WITH operation AS (
+            INSERT INTO sca_operation (id, reference_id, operation_type, party_id, status,
+                                       created_at, expires_at, last_updated, failed_attempts)
+            VALUES (:operationId, :referenceId, CAST(:operationType AS sca_operation_type_enum), :partyId,
+                    'PENDING'::sca_status_enum, :now, :expiresAt, :now, 0)
+            RETURNING id, party_id
+        ),
+        challenge AS (
+            INSERT INTO sca_challenge (id, sca_operation_id, challenge_code, created_at, expires_at, used)
+            SELECT :challengeId, o.id, :challengeCode, :now, :challengeExpiresAt, FALSE
+              FROM operation o
+            RETURNING id, sca_operation_id
+        ),
+        history AS (
+            INSERT INTO sca_operation_history (id, sca_operation_id, status, event_time, comments)
+            SELECT sca_uuid_v7(), o.id, 'PENDING'::sca_status_enum, :now, 'SCA initiated'
+              FROM operation o
+        ),
+        audit AS (
+            INSERT INTO sca_audit (id, sca_operation_id, sca_challenge_id, party_id, event_type, event_time, details)
+            SELECT sca_uuid_v7(), c.sca_operation_id, c.id, o.party_id, 'CREATED'::sca_audit_event_type_enum, :now,
+                   'SCA initiated'
+              FROM challenge c, operation o
+        )
+        SELECT COUNT(*)
+          FROM challenge
+    """)
+    Mono<Long> initiate(UUID operationId, String referenceId, String operationType, String partyId,
+                        LocalDateTime expiresAt, UUID challengeId, String challengeCode,
+                        LocalDateTime challengeExpiresAt, LocalDateTime now);
+
+    /**
+     * Number of operations waiting for a code; served by the partial pending index.
+     */
+    @Query("SELECT COUNT(*) FROM sca_operation WHERE status = 'PENDING'")
+    Mono<Long> countPending();
+
+    /**
+     * Moves up to chunkSize PENDING operations past their expires_at to EXPIRED and writes the
+     * matching history and audit rows in the same statement. Rows locked by other callers
+     * (another sweeper node, an in-flight validation) are skipped.
+     */
+    @Query("""
+        WITH expired AS (
+            SELECT id
+              FROM sca_operation
+             WHERE status = 'PENDING'
+               AND expires_at <= CURRENT_TIMESTAMP
+             ORDER BY expires_at
+             LIMIT :chunkSize
+               FOR UPDATE SKIP LOCKED
+        ),
+        updated AS (
+            UPDATE sca_operation o
+               SET status = 'EXPIRED'::sca_status_enum,
+                   last_updated = CURRENT_TIMESTAMP,
+                   version = o.version + 1
+              FROM expired
+             WHERE o.id = expired.id
+            RETURNING o.id, o.party_id, o.expires_at
+        ),
+        history AS (
+            INSERT INTO sca_operation_history (id, sca_operation_id, status, event_time, comments)
+            SELECT sca_uuid_v7(), u.id, 'EXPIRED'::sca_status_enum, CURRENT_TIMESTAMP, 'Operation expired'
+              FROM updated u
+        ),
+        audit AS (
+            INSERT INTO sca_audit (id, sca_operation_id, party_id, event_type, event_time, details)
+            SELECT sca_uuid_v7(), u.id, u.party_id, 'EXPIRED'::sca_audit_event_type_enum, CURRENT_TIMESTAMP, 'Operation expired'
+              FROM updated u
+        )
+        SELECT id, expires_at
+          FROM updated
+    """)
+    Flux<SCAExpiredOperation> expirePendingOperations(int chunkSize);
 }
@@ -0,0 +1,9 @@
+-- V10__Add_Version_Columns.sql
+-- Row versions for optimistic concurrency: every write to an operation or challenge increments
+-- version, and updates carrying the version a client read are rejected once it has moved on.
+
+ALTER TABLE sca_operation
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE sca_challenge
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
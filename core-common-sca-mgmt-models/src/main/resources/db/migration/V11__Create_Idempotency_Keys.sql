@@ -0,0 +1,15 @@
+-- V11__Create_Idempotency_Keys.sql
+-- Idempotency-Key header values of create requests and the responses they produced, so a retried
+-- request is answered with the original response instead of creating a second resource.
+
+CREATE TABLE IF NOT EXISTS sca_idempotency_key (
+    id             VARCHAR(320) PRIMARY KEY,   -- "<scope>:<Idempotency-Key>"
+    request_hash   VARCHAR(64)  NOT NULL,      -- SHA-256 of the request body, hex
+    claim_token    UUID,                       -- request currently executing, NULL once completed
+    response_body  TEXT,                       -- JSON response, NULL while executing
+    created_at     TIMESTAMP    NOT NULL DEFAULT NOW(),
+    lease_until    TIMESTAMP,                  -- an unfinished claim may be taken over after this
+    expires_at     TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_sca_idempotency_key_expires_at ON sca_idempotency_key (expires_at);
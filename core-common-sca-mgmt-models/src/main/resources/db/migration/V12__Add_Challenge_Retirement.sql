@@ -0,0 +1,16 @@
+-- V12__Add_Challenge_Retirement.sql
+-- Marks challenges that left the active set without being consumed (expired and swept, or
+-- superseded by a trigger after wrong codes), so used keeps meaning "consumed by a successful validation".
+
+ALTER TABLE sca_challenge
+    ADD COLUMN IF NOT EXISTS retired_at TIMESTAMP;
+
+-- findActiveChallengeForOperation / validateAndConsumeChallenge; retired rows leave the index
+CREATE INDEX IF NOT EXISTS idx_sca_challenge_active
+    ON sca_challenge (sca_operation_id, expires_at)
+    WHERE used = FALSE AND retired_at IS NULL;
+
+-- retireExpiredChallenges walks the active set in expires_at order, like idx_sca_operation_pending_expiry
+CREATE INDEX IF NOT EXISTS idx_sca_challenge_active_expiry
+    ON sca_challenge (expires_at)
+    WHERE used = FALSE AND retired_at IS NULL;
@@ -0,0 +1,10 @@
+-- V13__Cascade_Attempt_Deletes.sql
+-- Deleting a challenge also deletes its attempts. Attempts are written behind, so a challenge
+-- could otherwise not be deleted once any attempt against it had been flushed.
+
+ALTER TABLE sca_attempt
+    DROP CONSTRAINT IF EXISTS sca_attempt_sca_challenge_id_fkey;
+
+ALTER TABLE sca_attempt
+    ADD CONSTRAINT sca_attempt_sca_challenge_id_fkey
+        FOREIGN KEY (sca_challenge_id) REFERENCES sca_challenge (id) ON DELETE CASCADE;
@@ -0,0 +1,11 @@
+-- V14__Keep_Audit_On_Challenge_Delete.sql
+-- Deleting a challenge keeps the audit rows that reference it and clears their challenge ID.
+-- The CREATED audit row written by initiate references the first challenge, which could
+-- otherwise not be deleted.
+
+ALTER TABLE sca_audit
+    DROP CONSTRAINT IF EXISTS sca_audit_sca_challenge_id_fkey;
+
+ALTER TABLE sca_audit
+    ADD CONSTRAINT sca_audit_sca_challenge_id_fkey
+        FOREIGN KEY (sca_challenge_id) REFERENCES sca_challenge (id) ON DELETE SET NULL;
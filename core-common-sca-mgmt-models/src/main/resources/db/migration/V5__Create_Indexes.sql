@@ -0,0 +1,41 @@
+-- V5__Create_Indexes.sql
+-- Indexes backing the foreign keys and repository finders. The listing indexes end with the id
+-- tie-breaker used by keyset pagination, so (time, id) seeks are answered in index order.
+
+------------------------------------------------------------------------------
+-- TABLE: sca_operation
+------------------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_sca_operation_reference_id
+    ON sca_operation (reference_id);
+
+CREATE INDEX IF NOT EXISTS idx_sca_operation_party_id
+    ON sca_operation (party_id);
+
+------------------------------------------------------------------------------
+-- TABLE: sca_challenge
+------------------------------------------------------------------------------
+-- findAllByScaOperationId / countByScaOperationId, and keyset listings ordered by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_sca_challenge_operation_id
+    ON sca_challenge (sca_operation_id, created_at, id);
+
+------------------------------------------------------------------------------
+-- TABLE: sca_attempt
+------------------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_sca_attempt_challenge_id
+    ON sca_attempt (sca_challenge_id, attempted_at, id);
+
+------------------------------------------------------------------------------
+-- TABLE: sca_operation_history
+------------------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_sca_operation_history_operation_id
+    ON sca_operation_history (sca_operation_id, event_time, id);
+
+------------------------------------------------------------------------------
+-- TABLE: sca_audit
+------------------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_sca_audit_operation_id
+    ON sca_audit (sca_operation_id, event_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_sca_audit_challenge_id
+    ON sca_audit (sca_challenge_id)
+    WHERE sca_challenge_id IS NOT NULL;
@@ -0,0 +1,129 @@
+-- V6__Partition_Audit_And_History.sql
+-- Converts the append-only sca_audit and sca_operation_history tables to monthly
+-- range partitions on event_time. Existing rows are copied into the new tables.
+-- Upcoming partitions are created (and old ones detached) by SCAPartitionMaintenanceJob.
+
+------------------------------------------------------------------------------
+-- FUNCTION: sca_create_monthly_partition
+------------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION sca_create_monthly_partition(parent_table TEXT, month_start DATE)
+    RETURNS TEXT AS $$
+DECLARE
+    range_start    DATE := date_trunc('month', month_start)::date;
+    range_end      DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := parent_table || '_p' || to_char(month_start, 'YYYYMM');
+    default_name   TEXT := parent_table || '_default';
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    -- Rows of the month already in the DEFAULT partition would make CREATE ... PARTITION OF fail,
+    -- so they are moved into a standalone table first, which is then attached.
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                   partition_name, parent_table);
+    IF to_regclass(default_name) IS NOT NULL THEN
+        EXECUTE format(
+            'WITH moved AS (DELETE FROM %I WHERE event_time >= %L AND event_time < %L RETURNING *) '
+                || 'INSERT INTO %I SELECT * FROM moved',
+            default_name,
+            range_start,
+            range_end,
+            partition_name
+        );
+    END IF;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent_table, partition_name, range_start, range_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+------------------------------------------------------------------------------
+-- Move the existing tables out of the way
+------------------------------------------------------------------------------
+DROP INDEX IF EXISTS idx_sca_audit_operation_id;
+DROP INDEX IF EXISTS idx_sca_audit_challenge_id;
+DROP INDEX IF EXISTS idx_sca_operation_history_operation_id;
+
+ALTER TABLE sca_audit RENAME TO sca_audit_legacy;
+ALTER TABLE sca_audit_legacy RENAME CONSTRAINT sca_audit_pkey TO sca_audit_legacy_pkey;
+
+ALTER TABLE sca_operation_history RENAME TO sca_operation_history_legacy;
+ALTER TABLE sca_operation_history_legacy RENAME CONSTRAINT sca_operation_history_pkey TO sca_operation_history_legacy_pkey;
+
+------------------------------------------------------------------------------
+-- TABLE: sca_operation_history
+------------------------------------------------------------------------------
+CREATE TABLE sca_operation_history (
+                                       id                UUID            NOT NULL,
+                                       sca_operation_id  UUID            NOT NULL REFERENCES sca_operation(id),
+                                       status            sca_status_enum NOT NULL,
+                                       event_time        TIMESTAMP       NOT NULL DEFAULT NOW(),
+                                       comments          TEXT,
+                                       PRIMARY KEY (id, event_time)
+) PARTITION BY RANGE (event_time);
+
+CREATE TABLE sca_operation_history_default PARTITION OF sca_operation_history DEFAULT;
+
+CREATE INDEX idx_sca_operation_history_operation_id
+    ON sca_operation_history (sca_operation_id, event_time, id);
+
+------------------------------------------------------------------------------
+-- TABLE: sca_audit
+------------------------------------------------------------------------------
+CREATE TABLE sca_audit (
+                           id                UUID                      NOT NULL,
+                           sca_operation_id  UUID                      NOT NULL REFERENCES sca_operation(id),
+                           sca_challenge_id  UUID                      REFERENCES sca_challenge(id),
+                           party_id          VARCHAR(255),
+                           event_type        sca_audit_event_type_enum NOT NULL,
+                           event_time        TIMESTAMP                 NOT NULL DEFAULT NOW(),
+                           details           TEXT,
+                           PRIMARY KEY (id, event_time)
+) PARTITION BY RANGE (event_time);
+
+CREATE TABLE sca_audit_default PARTITION OF sca_audit DEFAULT;
+
+CREATE INDEX idx_sca_audit_operation_id
+    ON sca_audit (sca_operation_id, event_time, id);
+
+CREATE INDEX idx_sca_audit_challenge_id
+    ON sca_audit (sca_challenge_id)
+    WHERE sca_challenge_id IS NOT NULL;
+
+------------------------------------------------------------------------------
+-- Monthly partitions covering the existing rows and the next three months
+------------------------------------------------------------------------------
+DO $$
+DECLARE
+    first_month DATE;
+    month_start DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(
+               COALESCE((SELECT MIN(event_time) FROM sca_audit_legacy), NOW()),
+               COALESCE((SELECT MIN(event_time) FROM sca_operation_history_legacy), NOW())
+           ))::date
+      INTO first_month;
+
+    FOR month_start IN
+        SELECT generate_series(first_month, date_trunc('month', NOW()) + INTERVAL '3 months', INTERVAL '1 month')::date
+    LOOP
+        PERFORM sca_create_monthly_partition('sca_audit', month_start);
+        PERFORM sca_create_monthly_partition('sca_operation_history', month_start);
+    END LOOP;
+END;
+$$;
+
+------------------------------------------------------------------------------
+-- Copy the existing rows and drop the old tables
+------------------------------------------------------------------------------
+INSERT INTO sca_operation_history (id, sca_operation_id, status, event_time, comments)
+SELECT id, sca_operation_id, status, event_time, comments
+  FROM sca_operation_history_legacy;
+
+INSERT INTO sca_audit (id, sca_operation_id, sca_challenge_id, party_id, event_type, event_time, details)
+SELECT id, sca_operation_id, sca_challenge_id, party_id, event_type, event_time, details
+  FROM sca_audit_legacy;
+
+DROP TABLE sca_operation_history_legacy;
+DROP TABLE sca_audit_legacy;
@@ -0,0 +1,6 @@
+-- V7__Create_Expiry_Indexes.sql
+-- Supports the expiry sweeper, which scans PENDING operations past their expires_at.
+
+CREATE INDEX IF NOT EXISTS idx_sca_operation_pending_expiry
+    ON sca_operation (expires_at)
+    WHERE status = 'PENDING';
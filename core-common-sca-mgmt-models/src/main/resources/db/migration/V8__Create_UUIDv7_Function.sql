@@ -0,0 +1,17 @@
+-- V8__Create_UUIDv7_Function.sql
+-- Time-ordered UUIDv7 generation for rows created inside SQL statements
+-- (e.g. the history and audit rows written by the expiry sweeper).
+-- Takes a random v4 UUID, overlays the 48-bit millisecond timestamp and sets the version bits to 7.
+
+CREATE OR REPLACE FUNCTION sca_uuid_v7()
+    RETURNS UUID AS $$
+SELECT encode(
+           set_bit(
+               set_bit(
+                   overlay(uuid_send(gen_random_uuid())
+                           PLACING substring(int8send(floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                           FROM 1 FOR 6),
+                   52, 1),
+               53, 1),
+           'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
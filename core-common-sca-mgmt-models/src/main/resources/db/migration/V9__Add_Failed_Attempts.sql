@@ -0,0 +1,9 @@
+-- V9__Add_Failed_Attempts.sql
+-- Persists the number of wrong codes entered per operation, so a lockout survives restarts,
+-- and marks the challenges a wrong code was entered against, so a trigger can retire them.
+
+ALTER TABLE sca_operation
+    ADD COLUMN IF NOT EXISTS failed_attempts INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE sca_challenge
+    ADD COLUMN IF NOT EXISTS last_failed_at TIMESTAMP;
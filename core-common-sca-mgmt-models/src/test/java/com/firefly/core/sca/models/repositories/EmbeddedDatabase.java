@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.repositories;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * An in-process PostgreSQL with the Flyway migrations applied, and repositories bound to it
+ * without a Spring context.
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConnectionPool pool;
+    private final R2dbcRepositoryFactory repositories;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres, int maxConnections) {
+        this.postgres = postgres;
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new PostgresqlConnectionFactory(
+                        PostgresqlConnectionConfiguration.builder()
+                                .host("localhost")
+                                .port(postgres.getPort())
+                                .database("postgres")
+                                .username("postgres")
+                                .password("postgres")
+                                .build()))
+                .initialSize(maxConnections)
+                .maxSize(maxConnections)
+                .build());
+        this.repositories = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(pool));
+    }
+
+    static EmbeddedDatabase start(int maxConnections) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return new EmbeddedDatabase(postgres, maxConnections);
+    }
+
+    <T> T repository(Class<T> type) {
+        return repositories.getRepository(type);
+    }
+
+    DataSource dataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.dispose();
+        postgres.close();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.repositories;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deletes challenges referenced by audit rows against an embedded PostgreSQL.
+ */
+class SCAChallengeDeleteTest {
+
+    private static EmbeddedDatabase database;
+    private static SCAOperationRepository operations;
+    private static SCAChallengeRepository challenges;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        database = EmbeddedDatabase.start(2);
+        operations = database.repository(SCAOperationRepository.class);
+        challenges = database.repository(SCAChallengeRepository.class);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        database.close();
+    }
+
+    @Test
+    void deletesInitiatedChallengeAndKeepsItsAuditRow() throws SQLException {
+        UUID operationId = UUID.randomUUID();
+        UUID challengeId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        operations.initiate(operationId, "ref", "TRANSFER", "party", now.plusMinutes(10),
+                        challengeId, "h1:" + "5a".repeat(32), now.plusMinutes(5), now)
+                .block();
+
+        assertThat(challenges.deleteByIdAndOperationId(challengeId, operationId).block())
+                .isEqualTo(challengeId);
+
+        assertThat(challenges.existsByIdAndScaOperationId(challengeId, operationId).block()).isFalse();
+        assertThat(auditRows(operationId)).isEqualTo("CREATED/null");
+    }
+
+    /**
+     * "event type/challenge ID" of the audit rows of an operation.
+     */
+    private static String auditRows(UUID operationId) throws SQLException {
+        try (Connection connection = database.dataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("""
+                     SELECT string_agg(event_type::text || '/' || COALESCE(sca_challenge_id::text, 'null'), ',')
+                       FROM sca_audit
+                      WHERE sca_operation_id = ?
+                     """)) {
+            statement.setObject(1, operationId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.repositories;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on every query of the repositories in com.firefly.core.sca.models.repositories
+ * against a seeded embedded PostgreSQL and fails when a plan contains a sequential scan.
+ * <p>
+ * Queries are planned as generic prepared statements, the way the R2DBC driver runs them, with
+ * sequential scans disabled: the planner still picks one when no index can answer the query.
+ * Derived finders are expanded from their method names. The inherited findAll, findAllBy(Pageable)
+ * and count listings read whole tables by design and are not checked.
+ */
+class SCARepositoryQueryPlanTest {
+
+    private static final String REPOSITORY_PACKAGE = "com.firefly.core.sca.models.repositories";
+    private static final int SEED_OPERATIONS = 20_000;
+    private static final Pattern PARAMETER = Pattern.compile("(?<!:):([A-Za-z]\\w*)");
+    private static final Pattern DERIVED = Pattern.compile("(find|count|exists)(?:All)?By(\\w+)");
+    private static final Map<Class<?>, String> SQL_TYPES = Map.ofEntries(
+            Map.entry(UUID.class, "uuid"),
+            Map.entry(UUID[].class, "uuid[]"),
+            Map.entry(String.class, "varchar"),
+            Map.entry(String[].class, "varchar[]"),
+            Map.entry(int.class, "integer"),
+            Map.entry(Integer.class, "integer"),
+            Map.entry(long.class, "bigint"),
+            Map.entry(Long.class, "bigint"),
+            Map.entry(Boolean.class, "boolean"),
+            Map.entry(Boolean[].class, "boolean[]"),
+            Map.entry(LocalDateTime.class, "timestamp"),
+            Map.entry(LocalDateTime[].class, "timestamp[]"));
+
+    private static EmbeddedDatabase database;
+
+    @BeforeAll
+    static void startDatabase() throws IOException, SQLException {
+        database = EmbeddedDatabase.start(1);
+        try (Connection connection = database.dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO sca_operation (id, reference_id, operation_type, party_id, status,
+                                               created_at, expires_at, last_updated)
+                    SELECT sca_uuid_v7(), 'ref-' || g, 'TRANSFER', 'party-' || (g % 1000),
+                           CASE WHEN g % 10 = 0 THEN 'PENDING' ELSE 'VERIFIED' END::sca_status_enum,
+                           now() - g * INTERVAL '1 second', now() + INTERVAL '5 minutes', now()
+                      FROM generate_series(1, %d) g
+                    """.formatted(SEED_OPERATIONS));
+            statement.execute("""
+                    INSERT INTO sca_challenge (id, sca_operation_id, challenge_code, created_at, expires_at, used)
+                    SELECT sca_uuid_v7(), o.id, 'h1:' || md5(o.id::text), o.created_at,
+                           o.created_at + INTERVAL '5 minutes', o.status <> 'PENDING'
+                      FROM sca_operation o
+                    """);
+            statement.execute("""
+                    INSERT INTO sca_attempt (id, sca_challenge_id, attempt_value, attempted_at, success, ip_address)
+                    SELECT sca_uuid_v7(), c.id, c.challenge_code, c.created_at, c.used, '127.0.0.1'
+                      FROM sca_challenge c
+                    """);
+            statement.execute("""
+                    INSERT INTO sca_operation_history (id, sca_operation_id, status, event_time, comments)
+                    SELECT sca_uuid_v7(), o.id, o.status, o.created_at, 'seed'
+                      FROM sca_operation o
+                    """);
+            statement.execute("""
+                    INSERT INTO sca_audit (id, sca_operation_id, sca_challenge_id, party_id, event_type, event_time, details)
+                    SELECT sca_uuid_v7(), c.sca_operation_id, c.id, 'party', 'CREATED', c.created_at, 'seed'
+                      FROM sca_challenge c
+                    """);
+            statement.execute("""
+                    INSERT INTO sca_idempotency_key (id, request_hash, created_at, expires_at)
+                    SELECT 'operation:' || g, md5(g::text), now(), now() + g * INTERVAL '1 second'
+                      FROM generate_series(1, %d) g
+                    """.formatted(SEED_OPERATIONS));
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        database.close();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> noRepositoryQueryFallsBackToSequentialScan() {
+        List<Class<?>> repositories = repositoryTypes();
+        assertThat(repositories).isNotEmpty();
+        return repositories.stream().flatMap(repository -> Stream.concat(
+                Stream.of(DynamicTest.dynamicTest(repository.getSimpleName() + ".findById",
+                        () -> assertIndexed(findById(repository)))),
+                Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isDefault() && !method.isSynthetic())
+                        .sorted(Comparator.comparing(Method::getName))
+                        .map(method -> DynamicTest.dynamicTest(repository.getSimpleName() + "." + method.getName(),
+                                () -> assertIndexed(statement(repository, method))))));
+    }
+
+    private record PlannedStatement(String sql, List<String> parameterTypes) {
+    }
+
+    private static void assertIndexed(PlannedStatement statement) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection connection = database.dataSource().getConnection();
+             Statement jdbc = connection.createStatement()) {
+            jdbc.execute("SET enable_seqscan = off");
+            jdbc.execute("SET plan_cache_mode = force_generic_plan");
+            jdbc.execute(statement.parameterTypes().isEmpty()
+                    ? "PREPARE planned AS " + statement.sql()
+                    : "PREPARE planned (" + String.join(", ", statement.parameterTypes()) + ") AS " + statement.sql());
+            String arguments = statement.parameterTypes().isEmpty()
+                    ? ""
+                    : statement.parameterTypes().stream().map(type -> "NULL").collect(Collectors.joining(", ", "(", ")"));
+            try (ResultSet rows = jdbc.executeQuery("EXPLAIN EXECUTE planned" + arguments)) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            } finally {
+                jdbc.execute("DEALLOCATE planned");
+            }
+        }
+        assertThat(plan)
+                .as("plan of%n%s%n%s", statement.sql(), String.join(System.lineSeparator(), plan))
+                .noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    /**
+     * The @Query text with its named parameters bound to positional ones typed after the method
+     * signature, or the SQL a derived finder issues.
+     */
+    private static PlannedStatement statement(Class<?> repository, Method method) {
+        Parameter[] parameters = method.getParameters();
+        List<String> types = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (Parameter parameter : parameters) {
+            if (!Pageable.class.isAssignableFrom(parameter.getType())) {
+                names.add(parameter.getName());
+                types.add(sqlType(method, parameter.getType()));
+            }
+        }
+
+        Query query = method.getAnnotation(Query.class);
+        if (query != null) {
+            Matcher matcher = PARAMETER.matcher(query.value());
+            StringBuilder sql = new StringBuilder();
+            while (matcher.find()) {
+                int position = names.indexOf(matcher.group(1));
+                assertThat(position).as("parameter %s of %s", matcher.group(1), method).isNotNegative();
+                matcher.appendReplacement(sql, "\\$" + (position + 1));
+            }
+            matcher.appendTail(sql);
+            return new PlannedStatement(sql.toString(), types);
+        }
+
+        Matcher derived = DERIVED.matcher(method.getName());
+        assertThat(derived.matches()).as("no plan check for derived query %s", method).isTrue();
+        Class<?> entity = entityType(repository);
+        String[] properties = derived.group(2).split("And");
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < properties.length; i++) {
+            conditions.add(column(entity, properties[i]) + " = $" + (i + 1));
+        }
+        String select = switch (derived.group(1)) {
+            case "count" -> "SELECT COUNT(*)";
+            case "exists" -> "SELECT 1";
+            default -> "SELECT *";
+        };
+        boolean limited = "exists".equals(derived.group(1))
+                || Arrays.stream(parameters).anyMatch(parameter -> Pageable.class.isAssignableFrom(parameter.getType()));
+        return new PlannedStatement(select + " FROM " + table(entity) + " WHERE " + String.join(" AND ", conditions)
+                + (limited ? " LIMIT 20" : ""), types);
+    }
+
+    private static PlannedStatement findById(Class<?> repository) {
+        Class<?> entity = entityType(repository);
+        Class<?> idType = (Class<?>) ((ParameterizedType) repository.getGenericInterfaces()[0]).getActualTypeArguments()[1];
+        return new PlannedStatement("SELECT * FROM " + table(entity) + " WHERE id = $1", List.of(SQL_TYPES.get(idType)));
+    }
+
+    private static String sqlType(Method method, Class<?> type) {
+        String sqlType = SQL_TYPES.get(type);
+        assertThat(sqlType).as("SQL type of %s in %s", type.getSimpleName(), method).isNotNull();
+        return sqlType;
+    }
+
+    private static Class<?> entityType(Class<?> repository) {
+        return (Class<?>) ((ParameterizedType) repository.getGenericInterfaces()[0]).getActualTypeArguments()[0];
+    }
+
+    private static String table(Class<?> entity) {
+        return entity.getAnnotation(Table.class).value();
+    }
+
+    private static String column(Class<?> entity, String property) {
+        try {
+            String field = Character.toLowerCase(property.charAt(0)) + property.substring(1);
+            return entity.getDeclaredField(field).getAnnotation(Column.class).value();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Unknown property " + property + " of " + entity.getSimpleName(), e);
+        }
+    }
+
+    private static List<Class<?>> repositoryTypes() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(BaseRepository.class));
+        return scanner.findCandidateComponents(REPOSITORY_PACKAGE).stream()
+                .map(candidate -> {
+                    try {
+                        return Class.forName(candidate.getBeanClassName());
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .filter(type -> type != BaseRepository.class)
+                .sorted(Comparator.comparing(Class::getSimpleName))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.models.repositories;
+
+import com.firefly.core.sca.models.projections.SCAValidationOutcome;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races correct-code validations of one challenge against an embedded PostgreSQL. The latency of
+ * the single statement is measured by ValidationStatementBenchmark in the benchmarks module.
+ */
+class SCAValidationConcurrencyTest {
+
+    private static final int CONTENDERS = 32;
+    private static final int ROUNDS = 50;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final String CODE = "h1:" + "5a".repeat(32);
+
+    private static EmbeddedDatabase database;
+    private static SCAOperationRepository operations;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        database = EmbeddedDatabase.start(CONTENDERS);
+        operations = database.repository(SCAOperationRepository.class);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        database.close();
+    }
+
+    @Test
+    void consumesChallengeAtMostOnceUnderConcurrentValidations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                UUID operationId = seedPendingOperation();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<SCAValidationOutcome.Outcome>> futures = new ArrayList<>();
+                for (int i = 0; i < CONTENDERS; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return operations.validateAndConsumeChallenge(operationId, CODE, null, MAX_ATTEMPTS)
+                                .map(SCAValidationOutcome::getOutcome)
+                                .block();
+                    }));
+                }
+                start.countDown();
+
+                List<SCAValidationOutcome.Outcome> outcomes = new ArrayList<>();
+                for (Future<SCAValidationOutcome.Outcome> future : futures) {
+                    outcomes.add(future.get());
+                }
+
+                assertThat(outcomes)
+                        .as("round %d", round)
+                        .filteredOn(outcome -> outcome == SCAValidationOutcome.Outcome.VERIFIED)
+                        .hasSize(1);
+                assertThat(outcomes)
+                        .as("round %d", round)
+                        .filteredOn(outcome -> outcome != SCAValidationOutcome.Outcome.VERIFIED)
+                        .containsOnly(SCAValidationOutcome.Outcome.INVALID_STATE);
+                assertThat(operationState(operationId)).isEqualTo("VERIFIED/0/1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static UUID seedPendingOperation() throws SQLException {
+        return seedPendingOperations(1)[0];
+    }
+
+    private static UUID[] seedPendingOperations(int count) throws SQLException {
+        UUID[] ids = new UUID[count];
+        try (Connection connection = database.dataSource().getConnection();
+             PreparedStatement operation = connection.prepareStatement("""
+                     INSERT INTO sca_operation (id, reference_id, operation_type, party_id, status,
+                                                created_at, expires_at, last_updated)
+                     VALUES (?, 'ref', 'TRANSFER', 'party', 'PENDING',
+                             now(), now() + INTERVAL '10 minutes', now())
+                     """);
+             PreparedStatement challenge = connection.prepareStatement("""
+                     INSERT INTO sca_challenge (id, sca_operation_id, challenge_code, created_at, expires_at, used)
+                     VALUES (?, ?, ?, now(), now() + INTERVAL '5 minutes', FALSE)
+                     """)) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = UUID.randomUUID();
+                operation.setObject(1, ids[i]);
+                operation.addBatch();
+                challenge.setObject(1, UUID.randomUUID());
+                challenge.setObject(2, ids[i]);
+                challenge.setString(3, CODE);
+                challenge.addBatch();
+            }
+            operation.executeBatch();
+            challenge.executeBatch();
+        }
+        return ids;
+    }
+
+    /**
+     * "status/failed attempts/used challenges" of an operation.
+     */
+    private static String operationState(UUID operationId) throws SQLException {
+        try (Connection connection = database.dataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("""
+                     SELECT o.status::text || '/' || o.failed_attempts || '/'
+                            || (SELECT COUNT(*) FROM sca_challenge c WHERE c.sca_operation_id = o.id AND c.used)
+                       FROM sca_operation o
+                      WHERE o.id = ?
+                     """)) {
+            statement.setObject(1, operationId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getString(1);
+            }
+        }
+    }
+}
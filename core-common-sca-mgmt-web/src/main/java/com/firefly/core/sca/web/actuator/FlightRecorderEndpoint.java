@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.web.actuator;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Controls one Java Flight Recorder recording of this instance:
+ * <ul>
+ *   <li>{@code GET /actuator/jfr} - state of the current recording,</li>
+ *   <li>{@code POST /actuator/jfr} - starts a recording, optionally with {@code settings}
+ *   ({@code default} or {@code profile}), {@code maxAge} and {@code maxSize} in bytes,</li>
+ *   <li>{@code DELETE /actuator/jfr} - stops it; the data stays available for a dump,</li>
+ *   <li>{@code GET /actuator/jfr/{fileName}} - downloads what was recorded so far.</li>
+ * </ul>
+ * The SCA validation and connection acquisition events are always enabled in the recording; the
+ * initial environment variable and system property events are always disabled, so secrets passed
+ * that way never end up in a dump. A recording keeps at most {@link #MAX_AGE} and {@link #MAX_SIZE}
+ * bytes, whatever is requested. While nothing is recording, the SCA events cost one enabled check
+ * per validation.
+ * <p>
+ * The endpoint is not exposed over HTTP by default; expose it only on a management port that is not
+ * reachable from outside, behind authentication.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String[] SCA_EVENTS = {
+            "com.firefly.sca.Validation",
+            "com.firefly.sca.ConnectionAcquire"
+    };
+
+    private static final String[] EXCLUDED_EVENTS = {
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty"
+    };
+
+    static final Duration MAX_AGE = Duration.ofMinutes(30);
+
+    static final long MAX_SIZE = 256L * 1024 * 1024;
+
+    private Recording recording;
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        return RecordingStatus.of(recording);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> start(@Nullable String settings,
+                                                                   @Nullable Duration maxAge,
+                                                                   @Nullable Long maxSize) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(RecordingStatus.of(recording), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(RecordingStatus.of(recording), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(configuration);
+        recording.setName("sca");
+        recording.setToDisk(true);
+        for (String event : SCA_EVENTS) {
+            recording.enable(event);
+        }
+        for (String event : EXCLUDED_EVENTS) {
+            recording.disable(event);
+        }
+        recording.setMaxAge(maxAge != null && maxAge.compareTo(MAX_AGE) < 0 ? maxAge : MAX_AGE);
+        recording.setMaxSize(maxSize != null && maxSize < MAX_SIZE ? maxSize : MAX_SIZE);
+        recording.start();
+        return new WebEndpointResponse<>(RecordingStatus.of(recording));
+    }
+
+    @DeleteOperation
+    public synchronized RecordingStatus stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return RecordingStatus.of(recording);
+    }
+
+    /**
+     * The file name only labels the download; the dump is written to a temporary file that is
+     * deleted once the response has been streamed.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String fileName) {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            Path file = Files.createTempFile("sca-", ".jfr");
+            recording.dump(file);
+            return new WebEndpointResponse<>(new InputStreamResource(
+                    Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump the flight recording", e);
+        }
+    }
+
+    public record RecordingStatus(String state, Instant startTime, Duration maxAge, long maxSize, long size) {
+
+        static RecordingStatus of(Recording recording) {
+            if (recording == null) {
+                return new RecordingStatus("NONE", null, null, 0, 0);
+            }
+            return new RecordingStatus(recording.getState().name(), recording.getStartTime(),
+                    recording.getMaxAge(), recording.getMaxSize(), recording.getSize());
+        }
+    }
+}
@@ -20,6 +20,8 @@ package com.firefly.core.sca.web.controllers;
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.sca.core.services.SCAAttemptService;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAAttemptDTO;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,6 +52,20 @@ public class SCAAttemptController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Keyset listing, newest first. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPaginationResponse<SCAAttemptDTO>>> getAttemptsWithCursor(
+            @PathVariable UUID operationId,
+            @PathVariable UUID challengeId,
+            @ParameterObject @ModelAttribute CursorPaginationRequest cursorRequest
+    ) {
+        return attemptService.findAllByChallengeIdWithCursor(operationId, challengeId, cursorRequest)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public Mono<ResponseEntity<SCAAttemptDTO>> createAttempt(
             @PathVariable UUID operationId,
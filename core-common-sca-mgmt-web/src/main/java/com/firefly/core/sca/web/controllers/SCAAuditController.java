@@ -20,6 +20,8 @@ package com.firefly.core.sca.web.controllers;
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.sca.core.services.SCAAuditService;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAAuditDTO;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,6 +52,19 @@ public class SCAAuditController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Keyset listing, newest first. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPaginationResponse<SCAAuditDTO>>> getAuditWithCursor(
+            @PathVariable UUID operationId,
+            @ParameterObject @ModelAttribute CursorPaginationRequest cursorRequest
+    ) {
+        return auditService.findAllByOperationIdWithCursor(operationId, cursorRequest)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public Mono<ResponseEntity<SCAAuditDTO>> createAuditEvent(
             @PathVariable UUID operationId,
@@ -19,15 +19,25 @@ package com.firefly.core.sca.web.controllers;
 
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import com.firefly.core.sca.core.idempotency.SCAIdempotencyStore;
 import com.firefly.core.sca.core.services.SCAChallengeService;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAChallengeDTO;
 import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.web.utils.ClientAddressUtils;
+import com.firefly.core.sca.web.utils.ConditionalGetUtils;
+import com.firefly.core.sca.web.utils.IdempotencyUtils;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -37,6 +47,9 @@ public class SCAChallengeController {
     @Autowired
     private SCAChallengeService challengeService;
 
+    @Autowired
+    private SCAIdempotencyStore idempotencyStore;
+
     @GetMapping
     public Mono<ResponseEntity<PaginationResponse<SCAChallengeDTO>>> getAllChallenges(
             @PathVariable UUID operationId,
@@ -47,24 +60,51 @@ public class SCAChallengeController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Keyset listing, newest first. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPaginationResponse<SCAChallengeDTO>>> getChallengesWithCursor(
+            @PathVariable UUID operationId,
+            @ParameterObject @ModelAttribute CursorPaginationRequest cursorRequest
+    ) {
+        return challengeService.findAllByOperationIdWithCursor(operationId, cursorRequest)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
 
+
+    /**
+     * With an Idempotency-Key header, a retried request gets the original response instead of
+     * creating a second challenge. The code is not kept with the stored response, so once the
+     * node-local cache has dropped it a retry gets 409 SCA-IDEMPOTENCY-REPLAY-INCOMPLETE instead.
+     * A retry with a different code is a different request.
+     */
     @PostMapping
     public Mono<ResponseEntity<SCAChallengeDTO>> createChallenge(
             @PathVariable UUID operationId,
-            @RequestBody SCAChallengeDTO dto
+            @RequestBody SCAChallengeDTO dto,
+            @RequestHeader(name = IdempotencyUtils.IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return challengeService.create(operationId, dto)
-                .map(ResponseEntity::ok);
+        return idempotencyStore.execute("challenge:" + operationId, idempotencyKey, dto, SCAChallengeDTO.class,
+                        List.of("/challengeCode"), () -> challengeService.create(operationId, dto))
+                .map(IdempotencyUtils::ok);
     }
 
+    /**
+     * Sends an ETag; a request with If-None-Match gets 304 while the challenge is unchanged,
+     * answered from its version alone.
+     */
     @GetMapping("/{challengeId}")
     public Mono<ResponseEntity<SCAChallengeDTO>> getChallenge(
             @PathVariable UUID operationId,
-            @PathVariable UUID challengeId
+            @PathVariable UUID challengeId,
+            ServerWebExchange exchange
     ) {
-        return challengeService.findById(operationId, challengeId)
-                .map(ResponseEntity::ok)
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return ConditionalGetUtils.get(exchange,
+                () -> challengeService.findTag(operationId, challengeId),
+                () -> challengeService.findById(operationId, challengeId),
+                challenge -> SCAEntityTag.ofVersion(challenge.getVersion(), null));
     }
 
     @PutMapping("/{challengeId}")
@@ -84,7 +124,7 @@ public class SCAChallengeController {
             @PathVariable UUID challengeId
     ) {
         return challengeService.delete(operationId, challengeId)
-                .map(r -> ResponseEntity.noContent().<Void>build())
+                .map(deleted -> ResponseEntity.noContent().<Void>build())
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
@@ -93,9 +133,10 @@ public class SCAChallengeController {
     public Mono<ResponseEntity<String>> validateChallenge(
             @PathVariable UUID operationId,
             @PathVariable UUID challengeId,
-            @RequestParam String userCode
+            @RequestParam String userCode,
+            ServerHttpRequest request
     ) {
-        return challengeService.validateChallenge(operationId, challengeId, userCode)
+        return challengeService.validateChallenge(operationId, challengeId, userCode, ClientAddressUtils.clientIp(request))
                 .flatMap((ValidationResultDTO result) -> {
                     if (result.isLockedOrFailed()) {
                         return Mono.just(ResponseEntity.status(423).body("Challenge locked/failed"));
@@ -19,14 +19,30 @@ package com.firefly.core.sca.web.controllers;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import com.firefly.core.sca.core.idempotency.SCAIdempotencyStore;
 import com.firefly.core.sca.core.services.SCAOperationService;
+import com.firefly.core.sca.interfaces.dtos.BatchValidationItemDTO;
+import com.firefly.core.sca.interfaces.dtos.BatchValidationResultDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAInitiationRequestDTO;
+import com.firefly.core.sca.interfaces.dtos.SCAInitiationResponseDTO;
 import com.firefly.core.sca.interfaces.dtos.SCAOperationDTO;
 import com.firefly.core.sca.interfaces.dtos.ValidationResultDTO;
+import com.firefly.core.sca.interfaces.enums.SCAStatusEnum;
+import com.firefly.core.sca.web.utils.ClientAddressUtils;
+import com.firefly.core.sca.web.utils.ConditionalGetUtils;
+import com.firefly.core.sca.web.utils.IdempotencyUtils;
 import jakarta.validation.Validation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -40,6 +56,9 @@ public class SCAOperationController {
     @Autowired
     private SCAOperationService operationService;
 
+    @Autowired
+    private SCAIdempotencyStore idempotencyStore;
+
     // --- CRUD Endpoints ---
 
     @GetMapping
@@ -49,15 +68,44 @@ public class SCAOperationController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * With an Idempotency-Key header, a retried request gets the original response instead of
+     * creating a second operation.
+     */
     @PostMapping
-    public Mono<ResponseEntity<SCAOperationDTO>> createOperation(@RequestBody SCAOperationDTO dto) {
-        return operationService.create(dto)
-                .map(ResponseEntity::ok);
+    public Mono<ResponseEntity<SCAOperationDTO>> createOperation(
+            @RequestBody SCAOperationDTO dto,
+            @RequestHeader(name = IdempotencyUtils.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyStore.execute("operation", idempotencyKey, dto, SCAOperationDTO.class, List.of(),
+                        () -> operationService.create(dto))
+                .map(IdempotencyUtils::ok);
     }
 
+    /**
+     * Sends ETag and Last-Modified; a poll with If-None-Match or If-Modified-Since gets 304 while
+     * the operation is unchanged, answered from its version alone.
+     */
     @GetMapping("/{operationId}")
-    public Mono<ResponseEntity<SCAOperationDTO>> getOperation(@PathVariable UUID operationId) {
-        return operationService.findById(operationId)
+    public Mono<ResponseEntity<SCAOperationDTO>> getOperation(@PathVariable UUID operationId, ServerWebExchange exchange) {
+        return ConditionalGetUtils.get(exchange,
+                () -> operationService.findTag(operationId),
+                () -> operationService.findById(operationId),
+                operation -> SCAEntityTag.ofVersion(operation.getVersion(), operation.getLastUpdated()));
+    }
+
+    /**
+     * Long-poll instead of looping on GET: answers as soon as the status differs from status
+     * (the current one when omitted), or with the unchanged operation after timeout (ISO-8601,
+     * capped by sca.await.max-timeout).
+     */
+    @GetMapping("/{operationId}/await")
+    public Mono<ResponseEntity<SCAOperationDTO>> awaitOperationStatus(
+            @PathVariable UUID operationId,
+            @RequestParam(required = false) SCAStatusEnum status,
+            @RequestParam(required = false) Duration timeout
+    ) {
+        return operationService.awaitStatusChange(operationId, status, timeout)
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
@@ -75,12 +123,28 @@ public class SCAOperationController {
     @DeleteMapping("/{operationId}")
     public Mono<ResponseEntity<Void>> deleteOperation(@PathVariable UUID operationId) {
         return operationService.delete(operationId)
-                .map(r -> ResponseEntity.noContent().<Void>build())
+                .map(deleted -> ResponseEntity.noContent().<Void>build())
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     // --- SCA Flow Endpoints ---
 
+    /**
+     * Creates a PENDING operation with a server-generated challenge in one call,
+     * replacing create + create challenge + trigger. Honors the Idempotency-Key header like create,
+     * except that a replay from the key table gets 409 SCA-IDEMPOTENCY-REPLAY-INCOMPLETE, since the
+     * challenge code is not kept there; the caller then initiates again with a new key.
+     */
+    @PostMapping("/initiate")
+    public Mono<ResponseEntity<SCAInitiationResponseDTO>> initiateSCA(
+            @RequestBody SCAInitiationRequestDTO request,
+            @RequestHeader(name = IdempotencyUtils.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyStore.execute("initiate", idempotencyKey, request, SCAInitiationResponseDTO.class,
+                        List.of("/challenge/challengeCode"), () -> operationService.initiateSCA(request))
+                .map(IdempotencyUtils::ok);
+    }
+
     @PostMapping("/{operationId}/trigger")
     public Mono<ResponseEntity<Void>> triggerSCA(@PathVariable UUID operationId) {
         return operationService.triggerSCA(operationId)
@@ -91,11 +155,24 @@ public class SCAOperationController {
     @PostMapping("/{operationId}/validate")
     public Mono<ResponseEntity<ValidationResultDTO>> validateSCA(
             @PathVariable UUID operationId,
-            @RequestParam(name="userCode", required=false) String userCode
+            @RequestParam(name="userCode", required=false) String userCode,
+            ServerHttpRequest request
     ) {
-        return operationService.validateSCA(operationId, userCode)
+        return operationService.validateSCA(operationId, userCode, ClientAddressUtils.clientIp(request))
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Validates many (operationId, userCode) pairs in one request. Accepts a JSON array or an
+     * NDJSON stream and streams one NDJSON result per item as soon as it is known.
+     */
+    @PostMapping(value = "/batch-validate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchValidationResultDTO> validateSCABatch(
+            @RequestBody Flux<BatchValidationItemDTO> items,
+            ServerHttpRequest request
+    ) {
+        return operationService.validateSCABatch(items, ClientAddressUtils.clientIp(request));
+    }
 }
 
@@ -19,8 +19,12 @@ package com.firefly.core.sca.web.controllers;
 
 import org.fireflyframework.core.queries.PaginationRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.sca.core.cache.SCAEntityTag;
 import com.firefly.core.sca.core.services.SCAOperationHistoryService;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationRequest;
+import com.firefly.core.sca.interfaces.dtos.CursorPaginationResponse;
 import com.firefly.core.sca.interfaces.dtos.SCAOperationHistoryDTO;
+import com.firefly.core.sca.web.utils.ConditionalGetUtils;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -50,6 +54,19 @@ public class SCAOperationHistoryController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Keyset listing, newest first. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPaginationResponse<SCAOperationHistoryDTO>>> getHistoryWithCursor(
+            @PathVariable UUID operationId,
+            @ParameterObject @ModelAttribute CursorPaginationRequest cursorRequest
+    ) {
+        return historyService.findAllByOperationIdWithCursor(operationId, cursorRequest)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public Mono<ResponseEntity<SCAOperationHistoryDTO>> createHistory(
             @PathVariable UUID operationId,
@@ -59,14 +76,18 @@ public class SCAOperationHistoryController {
                 .map(ResponseEntity::ok);
     }
 
+    /**
+     * Sends an ETag over the entry's fields; a request with a matching If-None-Match gets 304
+     * without a body. History rows carry no version, so the (coalesced) row is always read.
+     */
     @GetMapping("/{historyId}")
     public Mono<ResponseEntity<SCAOperationHistoryDTO>> getHistory(
             @PathVariable UUID operationId,
             @PathVariable UUID historyId
     ) {
-        return historyService.findById(operationId, historyId)
-                .map(ResponseEntity::ok)
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return ConditionalGetUtils.get(() -> historyService.findById(operationId, historyId),
+                history -> SCAEntityTag.ofContent(history.getId(), history.getStatus(), history.getEventTime(),
+                        history.getComments()));
     }
 
     @PutMapping("/{historyId}")
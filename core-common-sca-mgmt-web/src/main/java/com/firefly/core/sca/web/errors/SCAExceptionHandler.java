@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.web.errors;
+
+import com.firefly.core.sca.core.concurrency.SCAConflictException;
+import com.firefly.core.sca.core.idempotency.SCAIdempotencyException;
+import com.firefly.core.sca.interfaces.dtos.SCAErrorDTO;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the typed SCA exceptions to SCAErrorDTO responses, so clients can tell e.g. a lost race
+ * (read again, then retry) from a missing resource or a server error. Ordered ahead of the
+ * framework's generic handlers.
+ */
+@RestControllerAdvice(basePackages = "com.firefly.core.sca.web.controllers")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SCAExceptionHandler {
+
+    @ExceptionHandler(SCAConflictException.class)
+    public ResponseEntity<SCAErrorDTO> handleConflict(SCAConflictException e) {
+        return error(HttpStatus.CONFLICT, "SCA-CONFLICT", e.getResource() + " was modified concurrently",
+                "Version " + e.getExpectedVersion() + " of " + e.getId()
+                        + " is stale; read it again and retry with the current version");
+    }
+
+    @ExceptionHandler(SCAIdempotencyException.class)
+    public ResponseEntity<SCAErrorDTO> handleIdempotency(SCAIdempotencyException e) {
+        return switch (e.getReason()) {
+            case INVALID_KEY -> error(HttpStatus.BAD_REQUEST, "SCA-IDEMPOTENCY-KEY-INVALID", e.getMessage(), null);
+            case KEY_REUSED -> error(HttpStatus.UNPROCESSABLE_ENTITY, "SCA-IDEMPOTENCY-KEY-REUSED", e.getMessage(),
+                    "Use a new Idempotency-Key for a different request");
+            case IN_PROGRESS -> error(HttpStatus.CONFLICT, "SCA-IDEMPOTENCY-IN-PROGRESS", e.getMessage(),
+                    "Retry with the same Idempotency-Key later");
+            case INCOMPLETE -> error(HttpStatus.CONFLICT, "SCA-IDEMPOTENCY-REPLAY-INCOMPLETE", e.getMessage(),
+                    "Repeat the request with a new Idempotency-Key, which initiates a new operation or creates a new challenge");
+        };
+    }
+
+    /**
+     * Malformed input detected past bean validation, such as an unreadable pagination cursor or an
+     * initiate request without referenceId or operationType.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<SCAErrorDTO> handleInvalidRequest(IllegalArgumentException e) {
+        return error(HttpStatus.BAD_REQUEST, "SCA-INVALID-REQUEST", e.getMessage(), null);
+    }
+
+    private static ResponseEntity<SCAErrorDTO> error(HttpStatus status, String code, String message, String details) {
+        SCAErrorDTO error = new SCAErrorDTO();
+        error.setErrorCode(code);
+        error.setErrorMessage(message);
+        error.setErrorDetails(details);
+        return ResponseEntity.status(status).body(error);
+    }
+}
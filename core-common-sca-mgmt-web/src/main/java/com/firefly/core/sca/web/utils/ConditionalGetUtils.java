@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.web.utils;
+
+import com.firefly.core.sca.core.cache.SCAEntityTag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ETag / Last-Modified support of the GET endpoints. Responses carry the tag of their body, and
+ * Spring answers 304 without a body when the request's If-None-Match or If-Modified-Since still
+ * matches it. If-None-Match takes precedence, as Last-Modified only has second resolution.
+ * <p>
+ * Two writes can fall within one second, so If-Modified-Since only gets a 304 when the last update
+ * lies in a whole second before it. Spring compares whole seconds, so it is handed the end of the
+ * update's second. Last-Modified carries that value, but only once the second is over: a client
+ * cannot hold it before a write that lands in the same second. The response handler checks the
+ * header again, so it must never be earlier than that.
+ */
+public final class ConditionalGetUtils {
+
+    private ConditionalGetUtils() {
+    }
+
+    /**
+     * Answers conditional requests from the current tag of the resource, so an unchanged resource
+     * is never loaded; unconditional requests and changed resources get the loaded body.
+     */
+    public static <T> Mono<ResponseEntity<T>> get(ServerWebExchange exchange,
+                                                  Supplier<Mono<SCAEntityTag>> currentTag,
+                                                  Supplier<Mono<T>> load,
+                                                  Function<T, SCAEntityTag> tagOf) {
+        if (!isConditional(exchange)) {
+            return get(load, tagOf);
+        }
+        return currentTag.get()
+                .filter(tag -> exchange.checkNotModified(tag.value(), validator(tag)))
+                .map(ConditionalGetUtils::<T>notModified)
+                .switchIfEmpty(Mono.defer(() -> get(load, tagOf)));
+    }
+
+    /**
+     * For resources whose tag is only known from their body.
+     */
+    public static <T> Mono<ResponseEntity<T>> get(Supplier<Mono<T>> load, Function<T, SCAEntityTag> tagOf) {
+        return load.get()
+                .map(body -> ResponseEntity.ok().headers(headers(tagOf.apply(body))).body(body))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private static boolean isConditional(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    private static <T> ResponseEntity<T> notModified(SCAEntityTag tag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers(tag)).build();
+    }
+
+    private static HttpHeaders headers(SCAEntityTag tag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(tag.value());
+        Instant validator = validator(tag);
+        if (tag.lastModified() != null && !validator.isAfter(Instant.now())) {
+            headers.setLastModified(validator);
+        }
+        return headers;
+    }
+
+    /**
+     * The end of the second of the last update. Timestamps are stored in the JVM's zone;
+     * Instant.MIN tells Spring there is no Last-Modified.
+     */
+    private static Instant validator(SCAEntityTag tag) {
+        if (tag.lastModified() == null) {
+            return Instant.MIN;
+        }
+        return tag.lastModified().atZone(ZoneId.systemDefault()).toInstant()
+                .truncatedTo(ChronoUnit.SECONDS)
+                .plusSeconds(1);
+    }
+}
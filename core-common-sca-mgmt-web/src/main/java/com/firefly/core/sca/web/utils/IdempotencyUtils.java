@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.sca.web.utils;
+
+import com.firefly.core.sca.core.idempotency.SCAIdempotentResponse;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Header names and response building of the Idempotency-Key support of the create endpoints.
+ */
+public final class IdempotencyUtils {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Set to true on responses replayed from an earlier request with the same key.
+     */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private IdempotencyUtils() {
+    }
+
+    public static <T> ResponseEntity<T> ok(SCAIdempotentResponse<T> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return builder.body(response.body());
+    }
+}